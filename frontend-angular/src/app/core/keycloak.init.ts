@@ -19,5 +19,8 @@ export function initializeKeycloak(keycloak: KeycloakService): () => Promise<boo
       bearerPrefix: 'Bearer',
       // Only attach token to calls going to /api (not external CDNs etc.)
       bearerExcludedUrls: ['/assets'],
+      // Presigned MinIO URLs are absolute and already carry their signature; S3 rejects a
+      // request that also has an Authorization header, so only same-origin calls get the token
+      shouldAddToken: (request) => !/^https?:\/\//i.test(request.url),
     });
 }
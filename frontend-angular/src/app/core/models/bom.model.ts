@@ -11,3 +11,80 @@ export interface BomLinkRequest {
   childRevisionId: number;
   quantity: number;
 }
+
+export interface BomTreeNode {
+  linkId: number;
+  parentRevisionId: number;
+  childRevisionId: number;
+  childItemId: number;
+  childItemNumber: string;
+  childItemName: string;
+  childRevisionCode: string;
+  quantity: number;
+  extendedQuantity: number;
+  level: number;
+  path: string;
+}
+
+export interface WhereUsedNode {
+  parentRevisionId: number;
+  childRevisionId: number;
+  parentItemId: number;
+  parentItemNumber: string;
+  parentItemName: string;
+  parentRevisionCode: string;
+  quantity: number;
+  level: number;
+  path: string;
+  topLevel: boolean;
+}
+
+export interface WhereUsedCount {
+  assemblies: number;
+  endItems: number;
+}
+
+export interface BomSummaryLine {
+  childRevisionId: number;
+  childItemId: number;
+  childItemNumber: string;
+  childItemName: string;
+  childRevisionCode: string;
+  totalQuantity: number;
+  leaf: boolean;
+}
+
+export type BomDiffChange = 'ADDED' | 'REMOVED' | 'REVISION_CHANGED' | 'QUANTITY_CHANGED' | 'UNCHANGED';
+
+export interface BomDiffLine {
+  parentItemId: number | null;
+  parentItemNumber: string | null;
+  childItemId: number;
+  childItemNumber: string;
+  childItemName: string;
+  revisionIdA: number | null;
+  revisionCodeA: string | null;
+  quantityA: number | null;
+  revisionIdB: number | null;
+  revisionCodeB: string | null;
+  quantityB: number | null;
+  change: BomDiffChange;
+}
+
+export interface BomImportRow {
+  parentRevisionId: number;
+  childRevisionId: number;
+  quantity?: number;
+}
+
+export interface BomImportRowResult extends BomImportRow {
+  row: number;
+  status: 'CREATED' | 'INVALID' | 'NOT_FOUND' | 'DUPLICATE' | 'EXISTS' | 'CYCLE';
+  message: string | null;
+}
+
+export interface BomImportResponse {
+  created: number;
+  rejected: number;
+  rows: BomImportRowResult[];
+}
@@ -16,3 +16,32 @@ export interface ItemRequest {
   description?: string;
   lifecycleState?: LifecycleState;
 }
+
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
+}
+
+export interface ItemPageQuery {
+  cursor?: string;
+  size?: number;
+  sort?: 'id' | 'updatedAt';
+  state?: LifecycleState;
+  updatedSince?: string;
+}
+
+export interface ItemUpsertRowResult {
+  row: number;
+  itemNumber: string;
+  id: number | null;
+  status: 'CREATED' | 'UPDATED' | 'UNCHANGED' | 'INVALID' | 'DUPLICATE';
+  message: string | null;
+}
+
+export interface ItemUpsertResponse {
+  created: number;
+  updated: number;
+  unchanged: number;
+  rejected: number;
+  rows: ItemUpsertRowResult[];
+}
@@ -1,6 +1,6 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { BomLink, BomLinkRequest } from '../models/bom.model';
+import { BomDiffLine, BomImportResponse, BomImportRow, BomLink, BomLinkRequest, BomSummaryLine, BomTreeNode, WhereUsedCount, WhereUsedNode } from '../models/bom.model';
 
 @Injectable({ providedIn: 'root' })
 export class BomService {
@@ -9,10 +9,36 @@ export class BomService {
   getChildren(revisionId: number) {
     return this.http.get<BomLink[]>(`/api/revisions/${revisionId}/bom/children`);
   }
+  getTree(revisionId: number, depth?: number) {
+    const params: Record<string, string> = depth !== undefined ? { depth: String(depth) } : {};
+    return this.http.get<BomTreeNode[]>(`/api/revisions/${revisionId}/bom/tree`, { params });
+  }
+  getSummary(revisionId: number, leavesOnly = true) {
+    return this.http.get<BomSummaryLine[]>(`/api/revisions/${revisionId}/bom/summary`,
+      { params: { leavesOnly: String(leavesOnly) } });
+  }
+  getDiff(revisionId: number, otherRevisionId: number, multiLevel = false) {
+    return this.http.get<BomDiffLine[]>(`/api/revisions/${revisionId}/bom/diff/${otherRevisionId}`,
+      { params: { multiLevel: String(multiLevel) } });
+  }
+  getWhereUsed(revisionId: number, topLevelOnly = false) {
+    return this.http.get<WhereUsedNode[]>(`/api/revisions/${revisionId}/bom/where-used`,
+      { params: { topLevelOnly: String(topLevelOnly) } });
+  }
+  countWhereUsed(revisionId: number) {
+    return this.http.get<WhereUsedCount>(`/api/revisions/${revisionId}/bom/where-used/count`);
+  }
   addChild(revisionId: number, req: BomLinkRequest) {
     return this.http.post<BomLink>(`/api/revisions/${revisionId}/bom/children`, req);
   }
   removeChild(revisionId: number, childRevisionId: number) {
     return this.http.delete<void>(`/api/revisions/${revisionId}/bom/children/${childRevisionId}`);
   }
+  importLinks(rows: BomImportRow[]) {
+    return this.http.post<BomImportResponse>('/api/revisions/bom-links/import', rows);
+  }
+  importCsv(csv: string) {
+    return this.http.post<BomImportResponse>('/api/revisions/bom-links/import', csv,
+      { headers: { 'Content-Type': 'text/csv' } });
+  }
 }
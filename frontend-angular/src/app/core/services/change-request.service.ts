@@ -1,6 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { ChangeRequest, ChangeRequestRequest, CrStatus } from '../models/change-request.model';
+import { WhereUsedCount } from '../models/bom.model';
 
 @Injectable({ providedIn: 'root' })
 export class ChangeRequestService {
@@ -8,6 +9,7 @@ export class ChangeRequestService {
   constructor(private http: HttpClient) {}
 
   getAll() { return this.http.get<ChangeRequest[]>(this.base); }
+  getImpact(id: number) { return this.http.get<WhereUsedCount>(`${this.base}/${id}/impact`); }
   create(req: ChangeRequestRequest) { return this.http.post<ChangeRequest>(this.base, req); }
   update(id: number, req: ChangeRequestRequest) { return this.http.put<ChangeRequest>(`${this.base}/${id}`, req); }
   updateStatus(id: number, status: CrStatus) {
@@ -1,6 +1,6 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { Item, ItemRequest, LifecycleState } from '../models/item.model';
+import { CursorPage, Item, ItemPageQuery, ItemRequest, ItemUpsertResponse, LifecycleState } from '../models/item.model';
 
 @Injectable({ providedIn: 'root' })
 export class ItemService {
@@ -8,8 +8,17 @@ export class ItemService {
   constructor(private http: HttpClient) {}
 
   getAll() { return this.http.get<Item[]>(this.base); }
+  getPage(query: ItemPageQuery = {}) {
+    const params: Record<string, string> = {};
+    Object.entries(query).forEach(([k, v]) => { if (v !== undefined && v !== null) params[k] = String(v); });
+    return this.http.get<CursorPage<Item>>(`${this.base}/page`, { params });
+  }
+  search(q: string, page = 0, size = 20) {
+    return this.http.get<Item[]>(`${this.base}/search`, { params: { q, page: String(page), size: String(size) } });
+  }
   getById(id: number) { return this.http.get<Item>(`${this.base}/${id}`); }
   create(req: ItemRequest) { return this.http.post<Item>(this.base, req); }
+  upsertBulk(reqs: ItemRequest[]) { return this.http.post<ItemUpsertResponse>(`${this.base}/bulk`, reqs); }
   update(id: number, req: ItemRequest) { return this.http.put<Item>(`${this.base}/${id}`, req); }
   delete(id: number) { return this.http.delete<void>(`${this.base}/${id}`); }
   transitionLifecycle(id: number, state: LifecycleState) {
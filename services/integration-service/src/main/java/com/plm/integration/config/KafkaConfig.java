@@ -1,9 +1,12 @@
 package com.plm.integration.config;
 
+import com.plm.event.EventMessageConverter;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.support.converter.RecordMessageConverter;
 
 @Configuration
 public class KafkaConfig {
@@ -15,8 +18,21 @@ public class KafkaConfig {
     // Topic this service publishes to (external → PLM)
     public static final String EXTERNAL_EVENTS_TOPIC  = "plm.external-events";
 
+    // Must match the partition count plm-core-service declares for the same topics
+    @Value("${plm.kafka.partitions:6}")
+    private int partitions;
+
+    @Value("${plm.kafka.replication-factor:1}")
+    private short replicationFactor;
+
     @Bean
     public NewTopic externalEventsTopic() {
-        return TopicBuilder.name(EXTERNAL_EVENTS_TOPIC).partitions(1).replicas(1).build();
+        return TopicBuilder.name(EXTERNAL_EVENTS_TOPIC).partitions(partitions).replicas(replicationFactor).build();
+    }
+
+    /** Listeners get the type their method declares, decoded from Smile or legacy JSON. */
+    @Bean
+    public RecordMessageConverter eventMessageConverter() {
+        return new EventMessageConverter();
     }
 }
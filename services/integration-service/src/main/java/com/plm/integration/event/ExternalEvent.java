@@ -18,6 +18,10 @@ import java.util.Map;
 @AllArgsConstructor
 public class ExternalEvent {
 
+    public static final int SCHEMA_VERSION = 1;
+
+    @Builder.Default
+    private int schemaVersion = SCHEMA_VERSION;
     private String source;        // "odoo", "mes", etc.
     private String type;          // "ORDER_CREATED", "PRODUCTION_COMPLETE", etc.
     private String externalId;    // ID in the external system
@@ -11,6 +11,7 @@ import lombok.Data;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class PlmEvent {
 
+    private int schemaVersion; // 0 for events written before versioning
     private String type;       // ITEM_CREATED, ITEM_UPDATED, REVISION_RELEASED, REVISION_REJECTED, etc.
     private String id;
     private String itemId;
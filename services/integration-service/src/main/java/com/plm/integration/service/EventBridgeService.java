@@ -33,13 +33,15 @@ public class EventBridgeService {
 
     // ── Inbound: PLM → External ──────────────────────────────────────────────
 
-    @KafkaListener(topics = KafkaConfig.ITEM_EVENTS_TOPIC, groupId = "integration-service")
+    @KafkaListener(topics = KafkaConfig.ITEM_EVENTS_TOPIC, groupId = "integration-service",
+                   concurrency = "${plm.kafka.concurrency.item-bridge:3}")
     public void onItemEvent(PlmEvent event) {
         log.info("[Bridge] Item event received: {} (id={})", event.getType(), event.getId());
         fanOut(event);
     }
 
-    @KafkaListener(topics = KafkaConfig.WORKFLOW_EVENTS_TOPIC, groupId = "integration-service")
+    @KafkaListener(topics = KafkaConfig.WORKFLOW_EVENTS_TOPIC, groupId = "integration-service",
+                   concurrency = "${plm.kafka.concurrency.workflow-bridge:1}")
     public void onWorkflowEvent(PlmEvent event) {
         log.info("[Bridge] Workflow event received: {} (revisionId={})", event.getType(), event.getRevisionId());
         fanOut(event);
@@ -74,10 +76,25 @@ public class EventBridgeService {
                 .receivedAt(Instant.now())
                 .build();
 
-        kafkaTemplate.send(KafkaConfig.EXTERNAL_EVENTS_TOPIC, request.getSource(), event);
+        kafkaTemplate.send(KafkaConfig.EXTERNAL_EVENTS_TOPIC, messageKey(request), event);
         log.info("[Bridge] Webhook from {} published to Kafka: {}", request.getSource(), request.getType());
     }
 
+    /**
+     * Keyed by the PLM item when the webhook names one, otherwise by the external record, so
+     * events about the same entity stay ordered without funnelling a whole source through
+     * one partition.
+     */
+    private static String messageKey(WebhookRequest request) {
+        if (request.getPlmItemNumber() != null && !request.getPlmItemNumber().isBlank()) {
+            return request.getPlmItemNumber();
+        }
+        if (request.getExternalId() != null && !request.getExternalId().isBlank()) {
+            return request.getSource() + ":" + request.getExternalId();
+        }
+        return request.getSource();
+    }
+
     // ── Status ────────────────────────────────────────────────────────────────
 
     public List<ConnectorStatus> allStatuses() {
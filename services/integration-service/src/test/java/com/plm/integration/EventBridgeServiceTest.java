@@ -51,6 +51,20 @@ class EventBridgeServiceTest {
 
         eventBridge.handleWebhook(req);
 
-        verify(kafkaTemplate, times(1)).send(eq("plm.external-events"), eq("odoo"), any());
+        verify(kafkaTemplate, times(1)).send(eq("plm.external-events"), eq("PLM-001"), any());
+    }
+
+    @Test
+    void handleWebhook_withoutItemNumber_keysByExternalRecord() {
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(null);
+
+        WebhookRequest req = new WebhookRequest();
+        req.setSource("odoo");
+        req.setType("PRICE_UPDATED");
+        req.setExternalId("EXT-001");
+
+        eventBridge.handleWebhook(req);
+
+        verify(kafkaTemplate, times(1)).send(eq("plm.external-events"), eq("odoo:EXT-001"), any());
     }
 }
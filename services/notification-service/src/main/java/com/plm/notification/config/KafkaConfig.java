@@ -0,0 +1,16 @@
+package com.plm.notification.config;
+
+import com.plm.event.EventMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.support.converter.RecordMessageConverter;
+
+@Configuration
+public class KafkaConfig {
+
+    /** Listeners get the type their method declares, decoded from Smile or legacy JSON. */
+    @Bean
+    public RecordMessageConverter eventMessageConverter() {
+        return new EventMessageConverter();
+    }
+}
@@ -1,6 +1,7 @@
 package com.plm.notification.consumer;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.plm.event.ItemEvent;
+import com.plm.event.WorkflowEvent;
 import com.plm.notification.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,28 +15,29 @@ public class PlmEventConsumer {
 
     private final NotificationService notificationService;
 
-    @KafkaListener(topics = "plm.item-events", groupId = "notification-service")
-    public void onItemEvent(JsonNode event) {
-        String type       = event.path("type").asText();
-        String itemNumber = event.path("itemNumber").asText();
-        String name       = event.path("name").asText();
-        String state      = event.path("lifecycleState").asText();
-        String entityId   = event.path("id").asText();
+    @KafkaListener(topics = "plm.item-events", groupId = "notification-service",
+                   concurrency = "${plm.kafka.concurrency.item-notifications:2}")
+    public void onItemEvent(ItemEvent event) {
+        String type       = event.type().name();
+        String itemNumber = event.itemNumber();
+        String name       = event.name();
+        String state      = event.lifecycleState();
+        String entityId   = String.valueOf(event.id());
 
         log.info("[Notifier] Item event: {} itemNumber={}", type, itemNumber);
 
-        switch (type) {
-            case "ITEM_CREATED" -> notificationService.create(
+        switch (event.type()) {
+            case ITEM_CREATED -> notificationService.create(
                     type, "New item created",
                     "Item " + itemNumber + " (" + name + ") has been created.",
                     "item", entityId, "ALL");
 
-            case "LIFECYCLE_CHANGED" -> notificationService.create(
+            case LIFECYCLE_CHANGED -> notificationService.create(
                     type, "Lifecycle state changed",
                     "Item " + itemNumber + " moved to " + state + ".",
                     "item", entityId, "ALL");
 
-            case "ITEM_DELETED" -> notificationService.create(
+            case ITEM_DELETED -> notificationService.create(
                     type, "Item deleted",
                     "Item " + itemNumber + " has been deleted.",
                     "item", entityId, "ALL");
@@ -44,22 +46,23 @@ public class PlmEventConsumer {
         }
     }
 
-    @KafkaListener(topics = "plm.workflow-events", groupId = "notification-service")
-    public void onWorkflowEvent(JsonNode event) {
-        String type       = event.path("type").asText();
-        String revisionId = event.path("revisionId").asText();
-        String itemId     = event.path("itemId").asText();
+    @KafkaListener(topics = "plm.workflow-events", groupId = "notification-service",
+                   concurrency = "${plm.kafka.concurrency.workflow-notifications:1}")
+    public void onWorkflowEvent(WorkflowEvent event) {
+        String type       = event.type().name();
+        String revisionId = String.valueOf(event.revisionId());
 
         log.info("[Notifier] Workflow event: {} revisionId={}", type, revisionId);
 
-        switch (type) {
-            case "REVISION_RELEASED" -> notificationService.create(
+        switch (event.type()) {
+            case REVISION_RELEASED -> notificationService.create(
                     type, "Revision released",
                     "Revision " + revisionId + " has been approved and released.",
                     "revision", revisionId, "ALL");
 
-            case "REVISION_REJECTED" -> {
-                String reason = event.path("reason").asText("No reason provided");
+            case REVISION_REJECTED -> {
+                String reason = event.reason() != null && !event.reason().isBlank()
+                        ? event.reason() : "No reason provided";
                 notificationService.create(
                         type, "Revision rejected",
                         "Revision " + revisionId + " was rejected: " + reason,
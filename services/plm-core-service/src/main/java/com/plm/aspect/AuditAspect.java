@@ -1,5 +1,7 @@
 package com.plm.aspect;
 
+import com.plm.dto.AuditSummary;
+import com.plm.dto.IdentifiedEntity;
 import com.plm.service.AuditLogService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -7,9 +9,12 @@ import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Aspect
 @Component
@@ -18,6 +23,7 @@ import java.lang.reflect.Method;
 public class AuditAspect {
 
     private final AuditLogService auditLogService;
+    private final Map<Method, AuditTarget> targets = new ConcurrentHashMap<>();
 
     @Pointcut("execution(* com.plm.service.ItemService.createItem(..)) ||" +
               "execution(* com.plm.service.ItemService.updateItem(..)) ||" +
@@ -26,6 +32,8 @@ public class AuditAspect {
               "execution(* com.plm.service.RevisionService.nextRevision(..)) ||" +
               "execution(* com.plm.service.RevisionService.updateStatus(..)) ||" +
               "execution(* com.plm.service.DocumentService.uploadDocument(..)) ||" +
+              "execution(* com.plm.service.DocumentService.createFromUpload(..)) ||" +
+              "execution(* com.plm.service.DocumentService.completePresignedUpload(..)) ||" +
               "execution(* com.plm.service.DocumentService.deleteDocument(..)) ||" +
               "execution(* com.plm.service.ChangeRequestService.create(..)) ||" +
               "execution(* com.plm.service.ChangeRequestService.update(..)) ||" +
@@ -38,44 +46,56 @@ public class AuditAspect {
     @AfterReturning(pointcut = "auditedMethods()", returning = "result")
     public void afterReturning(JoinPoint jp, Object result) {
         try {
-            String methodName = jp.getSignature().getName();
-            String entityType = resolveEntityType(jp.getSignature().getDeclaringTypeName());
-            Long entityId = resolveId(result, jp.getArgs());
-            String details = buildDetails(methodName, jp.getArgs());
-            auditLogService.log(methodName, entityType, entityId, details);
+            AuditTarget target = targets.computeIfAbsent(((MethodSignature) jp.getSignature()).getMethod(), AuditTarget::of);
+            Object[] args = jp.getArgs();
+            auditLogService.log(target.action(), target.entityType(), target.resolveId(result, args), target.details(args));
         } catch (Exception e) {
             log.warn("Audit logging failed: {}", e.getMessage());
         }
     }
 
-    private String resolveEntityType(String className) {
-        if (className.contains("Item")) return "Item";
-        if (className.contains("Revision")) return "Revision";
-        if (className.contains("Document")) return "Document";
-        if (className.contains("ChangeRequest")) return "ChangeRequest";
-        return "Unknown";
-    }
+    /**
+     * What an audited method records, worked out once from its signature: the entity type
+     * from the declaring service, which argument carries the fallback id, and which argument
+     * describes the call. Per call this leaves an interface check and two array reads.
+     */
+    record AuditTarget(String action, String entityType, int idArg, int detailsArg) {
 
-    private Long resolveId(Object result, Object[] args) {
-        if (result != null) {
-            try {
-                Method getId = result.getClass().getMethod("getId");
-                Object id = getId.invoke(result);
-                if (id instanceof Long l) return l;
-            } catch (Exception ignored) {}
+        static AuditTarget of(Method method) {
+            Class<?>[] params = method.getParameterTypes();
+            int idArg = -1;
+            int detailsArg = -1;
+            for (int i = 0; i < params.length; i++) {
+                if (idArg < 0 && (params[i] == Long.class || params[i] == long.class)) idArg = i;
+                if (detailsArg < 0 && isDescribable(params[i])) detailsArg = i;
+            }
+            return new AuditTarget(method.getName(), entityType(method.getDeclaringClass()), idArg, detailsArg);
         }
-        // fall back to first Long arg
-        for (Object arg : args) {
-            if (arg instanceof Long l) return l;
+
+        Long resolveId(Object result, Object[] args) {
+            if (result instanceof IdentifiedEntity entity && entity.getId() != null) return entity.getId();
+            return idArg >= 0 ? (Long) args[idArg] : null;
+        }
+
+        String details(Object[] args) {
+            Object arg = detailsArg >= 0 ? args[detailsArg] : null;
+            if (arg == null) return action;
+            String summary = arg instanceof AuditSummary s ? s.auditSummary() : String.valueOf(arg);
+            if (summary == null) return action;
+            return action + ": " + (summary.length() > 100 ? summary.substring(0, 100) + "…" : summary);
+        }
+
+        private static boolean isDescribable(Class<?> type) {
+            return type.isPrimitive() || Number.class.isAssignableFrom(type) || CharSequence.class.isAssignableFrom(type)
+                    || type.isEnum() || AuditSummary.class.isAssignableFrom(type);
         }
-        return null;
-    }
 
-    private String buildDetails(String method, Object[] args) {
-        if (args.length > 0 && args[0] != null) {
-            String first = args[0].toString();
-            return method + ": " + (first.length() > 100 ? first.substring(0, 100) + "…" : first);
+        /** ItemService -> Item, ChangeRequestService -> ChangeRequest. */
+        private static String entityType(Class<?> service) {
+            String name = service.getSimpleName();
+            return name.endsWith("Service") && name.length() > "Service".length()
+                    ? name.substring(0, name.length() - "Service".length())
+                    : "Unknown";
         }
-        return method;
     }
 }
@@ -2,10 +2,13 @@ package com.plm.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.plm.dto.ConversionMessage;
+import com.plm.event.EventMessageConverter;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.support.converter.RecordMessageConverter;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
@@ -16,9 +19,29 @@ public class KafkaConfig {
     public static final String ITEM_EVENTS_TOPIC     = "plm.item-events";
     public static final String WORKFLOW_EVENTS_TOPIC = "plm.workflow-events";
     public static final String EXTERNAL_EVENTS_TOPIC = "plm.external-events";
+    public static final String BOM_EVENTS_TOPIC      = "plm.bom-events";
 
-    @Bean public NewTopic conversionTopic()      { return TopicBuilder.name(CONVERSION_TOPIC).partitions(1).replicas(1).build(); }
-    @Bean public NewTopic itemEventsTopic()      { return TopicBuilder.name(ITEM_EVENTS_TOPIC).partitions(1).replicas(1).build(); }
-    @Bean public NewTopic workflowEventsTopic()  { return TopicBuilder.name(WORKFLOW_EVENTS_TOPIC).partitions(1).replicas(1).build(); }
-    @Bean public NewTopic externalEventsTopic()  { return TopicBuilder.name(EXTERNAL_EVENTS_TOPIC).partitions(1).replicas(1).build(); }
+    // Producers key every message by the entity it concerns (item id, revision id, ...), so
+    // per-entity order holds on any partition count; listeners scale up to partitions x replicas.
+    @Value("${plm.kafka.partitions:6}")
+    private int partitions;
+
+    @Value("${plm.kafka.replication-factor:1}")
+    private short replicationFactor;
+
+    @Bean public NewTopic conversionTopic()      { return topic(CONVERSION_TOPIC); }
+    @Bean public NewTopic itemEventsTopic()      { return topic(ITEM_EVENTS_TOPIC); }
+    @Bean public NewTopic workflowEventsTopic()  { return topic(WORKFLOW_EVENTS_TOPIC); }
+    @Bean public NewTopic externalEventsTopic()  { return topic(EXTERNAL_EVENTS_TOPIC); }
+    @Bean public NewTopic bomEventsTopic()       { return topic(BOM_EVENTS_TOPIC); }
+
+    /** Listeners get the type their method declares, decoded from Smile or legacy JSON. */
+    @Bean
+    public RecordMessageConverter eventMessageConverter() {
+        return new EventMessageConverter();
+    }
+
+    private NewTopic topic(String name) {
+        return TopicBuilder.name(name).partitions(partitions).replicas(replicationFactor).build();
+    }
 }
@@ -0,0 +1,43 @@
+package com.plm.config;
+
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.MinioClient;
+import io.minio.http.Method;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signs object URLs against {@code minio.public-endpoint}, the address browsers reach MinIO
+ * on, so large transfers go straight between client and MinIO. Signing is local (the region
+ * is configured, so no request is made to MinIO); the service only decides who may sign.
+ */
+public class MinioPresigner {
+
+    private final MinioClient publicClient;
+
+    public MinioPresigner(MinioClient publicClient) {
+        this.publicClient = publicClient;
+    }
+
+    /** GET URL; {@code responseHeaders} become response-* overrides such as response-content-disposition. */
+    public String presignedGet(String bucket, String object, Duration ttl, Map<String, String> responseHeaders) throws Exception {
+        return publicClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                .method(Method.GET)
+                .bucket(bucket)
+                .object(object)
+                .expiry((int) ttl.toSeconds(), TimeUnit.SECONDS)
+                .extraQueryParams(responseHeaders)
+                .build());
+    }
+
+    public String presignedPut(String bucket, String object, Duration ttl) throws Exception {
+        return publicClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                .method(Method.PUT)
+                .bucket(bucket)
+                .object(object)
+                .expiry((int) ttl.toSeconds(), TimeUnit.SECONDS)
+                .build());
+    }
+}
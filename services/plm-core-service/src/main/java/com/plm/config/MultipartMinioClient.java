@@ -0,0 +1,40 @@
+package com.plm.config;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import io.minio.MinioAsyncClient;
+import io.minio.messages.Part;
+
+import java.io.InputStream;
+
+/**
+ * Exposes the S3 multipart primitives that {@link io.minio.MinioClient} keeps protected, so a
+ * multipart upload can span several requests: create it, upload parts as they arrive,
+ * then complete or abort it. Used by resumable uploads; everything else uses MinioClient.
+ */
+public class MultipartMinioClient extends MinioAsyncClient {
+
+    public MultipartMinioClient(MinioAsyncClient client) {
+        super(client);
+    }
+
+    public String createMultipartUpload(String bucket, String object, String contentType) throws Exception {
+        Multimap<String, String> headers = HashMultimap.create();
+        if (contentType != null) headers.put("Content-Type", contentType);
+        return createMultipartUpload(bucket, null, object, headers, null).result().uploadId();
+    }
+
+    /** Uploads one part of exactly {@code length} bytes (buffered one part at a time) and returns its ETag. */
+    public String uploadPart(String bucket, String object, String uploadId, int partNumber,
+                             InputStream data, long length) throws Exception {
+        return uploadPart(bucket, null, object, data, length, uploadId, partNumber, null, null).etag();
+    }
+
+    public void completeMultipartUpload(String bucket, String object, String uploadId, Part[] parts) throws Exception {
+        completeMultipartUpload(bucket, null, object, uploadId, parts, null, null);
+    }
+
+    public void abortMultipartUpload(String bucket, String object, String uploadId) throws Exception {
+        abortMultipartUpload(bucket, null, object, uploadId, null, null);
+    }
+}
@@ -1,11 +1,20 @@
 package com.plm.controller;
 
+import com.plm.dto.CursorPage;
 import com.plm.entity.AuditLog;
+import com.plm.exception.BadRequestException;
 import com.plm.service.AuditLogService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/audit-log")
@@ -16,17 +25,57 @@ public class AuditLogController {
 
     @GetMapping
     public ResponseEntity<Page<AuditLog>> getAll(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size) {
-        return ResponseEntity.ok(auditLogService.getAll(page, size));
+        return ResponseEntity.ok(auditLogService.getAll(from, to, page, size));
+    }
+
+    /**
+     * Keyset-paginated listing, newest first, without a total count; follow {@code nextCursor}
+     * until it is null. Filters are optional; the time range defaults to the query window.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<AuditLog>> getPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(auditLogService.listPage(cursor, size, username, action, entityType, from, to));
+    }
+
+    /** Streams a filtered range oldest-first as NDJSON (default) or CSV ({@code format=csv}). */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        MediaType contentType = switch (format) {
+            case "ndjson" -> MediaType.APPLICATION_NDJSON;
+            case "csv" -> new MediaType("text", "csv", StandardCharsets.UTF_8);
+            default -> throw new BadRequestException("Unsupported format: " + format + " (expected ndjson or csv)");
+        };
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audit-log." + format + "\"")
+                .body(out -> auditLogService.export(format, username, action, entityType, from, to, out));
     }
 
     @GetMapping("/{entityType}/{entityId}")
     public ResponseEntity<Page<AuditLog>> getByEntity(
             @PathVariable String entityType,
             @PathVariable Long entityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
-        return ResponseEntity.ok(auditLogService.getByEntity(entityType, entityId, page, size));
+        return ResponseEntity.ok(auditLogService.getByEntity(entityType, entityId, from, to, page, size));
     }
 }
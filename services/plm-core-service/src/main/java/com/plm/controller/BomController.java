@@ -1,7 +1,12 @@
 package com.plm.controller;
 
+import com.plm.dto.BomDiffLineResponse;
 import com.plm.dto.BomLinkRequest;
 import com.plm.dto.BomLinkResponse;
+import com.plm.dto.BomSummaryLineResponse;
+import com.plm.dto.BomTreeNodeResponse;
+import com.plm.dto.WhereUsedCountResponse;
+import com.plm.dto.WhereUsedNodeResponse;
 import com.plm.service.BomService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +14,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,13 +26,60 @@ public class BomController {
     private final BomService bomService;
 
     @GetMapping("/children")
-    public ResponseEntity<List<BomLinkResponse>> getChildren(@PathVariable Long revisionId) {
-        return ResponseEntity.ok(bomService.getChildren(revisionId));
+    public ResponseEntity<List<BomLinkResponse>> getChildren(@PathVariable Long revisionId, WebRequest request) {
+        return ConditionalGet.collection(request, bomService.childrenWatermark(revisionId),
+                () -> bomService.getChildren(revisionId));
     }
 
     @GetMapping("/parents")
-    public ResponseEntity<List<BomLinkResponse>> getParents(@PathVariable Long revisionId) {
-        return ResponseEntity.ok(bomService.getParents(revisionId));
+    public ResponseEntity<List<BomLinkResponse>> getParents(@PathVariable Long revisionId, WebRequest request) {
+        return ConditionalGet.collection(request, bomService.parentsWatermark(revisionId),
+                () -> bomService.getParents(revisionId));
+    }
+
+    /** Multi-level explosion; omit {@code depth} for the full structure. */
+    @GetMapping("/tree")
+    public ResponseEntity<List<BomTreeNodeResponse>> getTree(@PathVariable Long revisionId,
+                                                             @RequestParam(required = false) Integer depth,
+                                                             WebRequest request) {
+        return ConditionalGet.collection(request, bomService.structureWatermark(),
+                () -> bomService.explode(revisionId, depth));
+    }
+
+    /** Summarized parts list: total quantity per revision, leaves only unless {@code leavesOnly=false}. */
+    @GetMapping("/summary")
+    public ResponseEntity<List<BomSummaryLineResponse>> getSummary(@PathVariable Long revisionId,
+                                                                   @RequestParam(defaultValue = "true") boolean leavesOnly,
+                                                                   WebRequest request) {
+        return ConditionalGet.collection(request, bomService.structureWatermark(),
+                () -> bomService.summarize(revisionId, leavesOnly));
+    }
+
+    /** Differences from this revision's BOM to {@code otherRevisionId}'s; direct children unless {@code multiLevel}. */
+    @GetMapping("/diff/{otherRevisionId}")
+    public ResponseEntity<List<BomDiffLineResponse>> diff(@PathVariable Long revisionId,
+                                                          @PathVariable Long otherRevisionId,
+                                                          @RequestParam(defaultValue = "false") boolean multiLevel,
+                                                          @RequestParam(defaultValue = "false") boolean includeUnchanged,
+                                                          WebRequest request) {
+        return ConditionalGet.collection(request, bomService.structureWatermark(),
+                () -> bomService.diff(revisionId, otherRevisionId, multiLevel, includeUnchanged));
+    }
+
+    /** Multi-level where-used; {@code topLevelOnly} keeps only paths that end at end items. */
+    @GetMapping("/where-used")
+    public ResponseEntity<List<WhereUsedNodeResponse>> getWhereUsed(@PathVariable Long revisionId,
+                                                                    @RequestParam(required = false) Integer depth,
+                                                                    @RequestParam(defaultValue = "false") boolean topLevelOnly,
+                                                                    WebRequest request) {
+        return ConditionalGet.collection(request, bomService.structureWatermark(),
+                () -> bomService.whereUsed(revisionId, depth, topLevelOnly));
+    }
+
+    @GetMapping("/where-used/count")
+    public ResponseEntity<WhereUsedCountResponse> countWhereUsed(@PathVariable Long revisionId, WebRequest request) {
+        return ConditionalGet.collection(request, bomService.structureWatermark(),
+                () -> bomService.countWhereUsed(revisionId));
     }
 
     @PostMapping("/children")
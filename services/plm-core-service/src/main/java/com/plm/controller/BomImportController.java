@@ -0,0 +1,37 @@
+package com.plm.controller;
+
+import com.plm.dto.BomImportResponse;
+import com.plm.dto.BomImportRow;
+import com.plm.service.BomImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Bulk BOM link import, as a JSON array or as CSV lines of
+ * {@code parentRevisionId,childRevisionId[,quantity]}. Every row gets a result; rows that
+ * fail validation are skipped while the rest are created in the same transaction.
+ */
+@RestController
+@RequestMapping("/api/revisions/bom-links/import")
+@RequiredArgsConstructor
+public class BomImportController {
+
+    private final BomImportService bomImportService;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'ENGINEER')")
+    public ResponseEntity<BomImportResponse> importJson(@RequestBody List<BomImportRow> rows) {
+        return ResponseEntity.ok(bomImportService.importLinks(rows));
+    }
+
+    @PostMapping(consumes = "text/csv")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ENGINEER')")
+    public ResponseEntity<BomImportResponse> importCsv(@RequestBody String csv) {
+        return ResponseEntity.ok(bomImportService.importLinks(bomImportService.parseCsv(csv)));
+    }
+}
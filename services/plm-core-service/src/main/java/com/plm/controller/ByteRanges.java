@@ -0,0 +1,162 @@
+package com.plm.controller;
+
+import com.plm.dto.StoredObject;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Byte-range responses (RFC 9110 §14) for files stored in MinIO. Every range becomes a
+ * ranged MinIO read, so resuming an 800 MB download at byte 600M costs 200 MB, not 800.
+ * Overlapping ranges are merged; more than {@link #MAX_RANGES} distinct ranges, an
+ * unparseable Range header or a stale If-Range all fall back to the full 200 response.
+ */
+final class ByteRanges {
+
+    /** Opens {@code length} bytes at {@code offset}; length -1 means the whole object. */
+    @FunctionalInterface
+    interface Opener {
+        InputStream open(long offset, long length);
+    }
+
+    static final int MAX_RANGES = 16;
+
+    private ByteRanges() {
+    }
+
+    static ResponseEntity<StreamingResponseBody> serve(HttpServletRequest request, StoredObject file, Opener opener) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + file.fileName() + "\"");
+        if (file.etag() != null) headers.setETag("\"" + file.etag() + "\"");
+        if (file.lastModified() != null) headers.setLastModified(file.lastModified());
+        boolean head = "HEAD".equals(request.getMethod());
+
+        List<long[]> ranges = requestedRanges(request, file);
+        if (ranges == null) {
+            headers.setContentType(MediaType.parseMediaType(file.contentType()));
+            headers.setContentLength(file.size());
+            return ResponseEntity.ok().headers(headers).body(head ? null : out -> copy(opener.open(0, -1), out));
+        }
+        if (ranges.isEmpty()) {
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + file.size());
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+        }
+        if (ranges.size() == 1) {
+            long[] r = ranges.get(0);
+            headers.setContentType(MediaType.parseMediaType(file.contentType()));
+            headers.set(HttpHeaders.CONTENT_RANGE, contentRange(r, file.size()));
+            headers.setContentLength(r[1] - r[0] + 1);
+            return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).headers(headers)
+                    .body(head ? null : out -> copy(opener.open(r[0], r[1] - r[0] + 1), out));
+        }
+
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        long length = 0;
+        for (long[] r : ranges) {
+            byte[] partHeader = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + file.contentType() + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": " + contentRange(r, file.size()) + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(partHeader);
+            length += partHeader.length + (r[1] - r[0] + 1);
+        }
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        headers.setContentType(MediaType.parseMediaType("multipart/byteranges; boundary=" + boundary));
+        headers.setContentLength(length + closing.length);
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).headers(headers).body(head ? null : out -> {
+            for (int i = 0; i < ranges.size(); i++) {
+                long[] r = ranges.get(i);
+                out.write(partHeaders.get(i));
+                copy(opener.open(r[0], r[1] - r[0] + 1), out);
+            }
+            out.write(closing);
+        });
+    }
+
+    /**
+     * Resolved, merged, ascending [first, last] ranges; empty when none is satisfiable, null
+     * when the full representation should be sent instead.
+     */
+    static List<long[]> requestedRanges(HttpServletRequest request, StoredObject file) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null || !ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), file)) {
+            return null;
+        }
+        List<HttpRange> parsed;
+        try {
+            parsed = HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        List<long[]> resolved = new ArrayList<>(parsed.size());
+        for (HttpRange range : parsed) {
+            // HttpRange clamps the end but not the start; an unsatisfiable range is skipped
+            // because other ranges in the set may still be satisfiable
+            long first;
+            long last;
+            try {
+                first = range.getRangeStart(file.size());
+                last = range.getRangeEnd(file.size());
+            } catch (IllegalArgumentException unsatisfiable) {
+                continue;
+            }
+            if (first < file.size() && first <= last) {
+                resolved.add(new long[]{first, last});
+            }
+        }
+        resolved.sort(Comparator.comparingLong(r -> r[0]));
+        List<long[]> merged = new ArrayList<>(resolved.size());
+        for (long[] r : resolved) {
+            long[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && r[0] <= last[1] + 1) {
+                last[1] = Math.max(last[1], r[1]);
+            } else {
+                merged.add(r);
+            }
+        }
+        return merged.size() > MAX_RANGES ? null : merged;
+    }
+
+    /** If-Range holds a strong ETag or an HTTP date; a range is only honoured when it still matches. */
+    private static boolean ifRangeMatches(String ifRange, StoredObject file) {
+        if (ifRange == null) return true;
+        if (ifRange.startsWith("\"")) {
+            return file.etag() != null && ifRange.equals("\"" + file.etag() + "\"");
+        }
+        if (file.lastModified() == null) return false;
+        try {
+            ZonedDateTime since = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return since.toInstant().equals(file.lastModified().toInstant().truncatedTo(ChronoUnit.SECONDS));
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static String contentRange(long[] range, long size) {
+        return "bytes " + range[0] + "-" + range[1] + "/" + size;
+    }
+
+    private static void copy(InputStream in, OutputStream out) throws IOException {
+        try (in) {
+            in.transferTo(out);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.plm.controller;
 
 import com.plm.dto.ChangeRequestRequest;
 import com.plm.dto.ChangeRequestResponse;
+import com.plm.dto.WhereUsedCountResponse;
 import com.plm.entity.ChangeRequestStatus;
 import com.plm.service.ChangeRequestService;
 import jakarta.validation.Valid;
@@ -30,6 +31,11 @@ public class ChangeRequestController {
         return ResponseEntity.ok(changeRequestService.getById(id));
     }
 
+    @GetMapping("/{id}/impact")
+    public ResponseEntity<WhereUsedCountResponse> getImpact(@PathVariable Long id) {
+        return ResponseEntity.ok(changeRequestService.getImpact(id));
+    }
+
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'ENGINEER')")
     public ResponseEntity<ChangeRequestResponse> create(@Valid @RequestBody ChangeRequestRequest request) {
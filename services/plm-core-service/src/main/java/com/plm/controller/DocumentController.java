@@ -1,9 +1,14 @@
 package com.plm.controller;
 
 import com.plm.dto.DocumentResponse;
+import com.plm.dto.PresignedUploadCompleteRequest;
+import com.plm.dto.PresignedUploadRequest;
+import com.plm.dto.PresignedUrlResponse;
+import com.plm.dto.StoredObject;
 import com.plm.service.DocumentService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -12,8 +17,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
@@ -39,6 +44,20 @@ public class DocumentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(documentService.uploadDocument(revisionId, file));
     }
 
+    /**
+     * Raw upload: the request body is the file itself and is piped straight into storage, with
+     * no multipart parsing or temp file. Chunked requests (no Content-Length) are accepted.
+     */
+    @PostMapping(value = "/revisions/{revisionId}/documents", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'ENGINEER')")
+    public ResponseEntity<DocumentResponse> uploadStream(@PathVariable Long revisionId,
+                                                          @RequestParam String fileName,
+                                                          HttpServletRequest request) throws IOException {
+        return ResponseEntity.status(HttpStatus.CREATED).body(documentService.uploadDocument(
+                revisionId, fileName, MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                request.getContentLengthLong(), request.getInputStream()));
+    }
+
     @DeleteMapping("/documents/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'ENGINEER')")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
@@ -46,22 +65,36 @@ public class DocumentController {
         return ResponseEntity.noContent().build();
     }
 
+    /** A short-lived direct MinIO URL when presigned URLs are enabled, otherwise the proxied /file URL. */
     @GetMapping("/documents/{id}/download-url")
-    public ResponseEntity<Map<String, String>> getDownloadUrl(@PathVariable Long id) {
-        return ResponseEntity.ok(Map.of("url", documentService.getDownloadUrl(id)));
+    public ResponseEntity<PresignedUrlResponse> getDownloadUrl(@PathVariable Long id) {
+        return ResponseEntity.ok(documentService.getDownloadUrl(id));
+    }
+
+    /** Step 1 of a direct upload: returns a presigned PUT URL into MinIO and the object name. */
+    @PostMapping("/revisions/{revisionId}/documents/presigned-upload")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ENGINEER')")
+    public ResponseEntity<PresignedUrlResponse> presignUpload(@PathVariable Long revisionId,
+                                                              @Valid @RequestBody PresignedUploadRequest request) {
+        return ResponseEntity.ok(documentService.presignUpload(revisionId, request.getFileName()));
+    }
+
+    /** Step 2: once the PUT has succeeded, registers the object as a document. */
+    @PostMapping("/revisions/{revisionId}/documents/presigned-upload/complete")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ENGINEER')")
+    public ResponseEntity<DocumentResponse> completePresignedUpload(@PathVariable Long revisionId,
+                                                                    @Valid @RequestBody PresignedUploadCompleteRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(documentService.completePresignedUpload(revisionId, request.getObjectName()));
     }
 
+    /**
+     * The document's file (the GLB once converted). Supports Range / If-Range with single and
+     * multipart/byteranges 206 responses, each range read from MinIO as a ranged GET.
+     */
     @GetMapping("/documents/{id}/file")
-    public ResponseEntity<StreamingResponseBody> streamFile(@PathVariable Long id) {
-        String fileName = documentService.getFileName(id);
-        StreamingResponseBody body = out -> {
-            try (var in = documentService.streamFile(id)) {
-                in.transferTo(out);
-            }
-        };
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + fileName + "\"")
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(body);
+    public ResponseEntity<StreamingResponseBody> streamFile(@PathVariable Long id, HttpServletRequest request) {
+        StoredObject file = documentService.describeFile(id);
+        return ByteRanges.serve(request, file, (offset, length) -> documentService.openFile(file, offset, length));
     }
 }
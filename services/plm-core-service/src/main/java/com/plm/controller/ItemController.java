@@ -1,16 +1,22 @@
 package com.plm.controller;
 
+import com.plm.dto.CursorPage;
 import com.plm.dto.ItemRequest;
 import com.plm.dto.ItemResponse;
+import com.plm.dto.ItemUpsertResponse;
 import com.plm.entity.LifecycleState;
+import com.plm.service.ItemImportService;
 import com.plm.service.ItemService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -19,20 +25,44 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
 
     @GetMapping
-    public ResponseEntity<List<ItemResponse>> getAll() {
-        return ResponseEntity.ok(itemService.getAllItems());
+    public ResponseEntity<List<ItemResponse>> getAll(WebRequest request) {
+        return ConditionalGet.collection(request, itemService.watermark(), itemService::getAllItems);
+    }
+
+    /** Keyset-paginated listing; follow {@code nextCursor} until it is null. */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<ItemResponse>> getPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) LifecycleState state,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            WebRequest request) {
+        return ConditionalGet.collection(request, itemService.watermark(),
+                () -> itemService.listItems(cursor, size, sort, state, updatedSince));
+    }
+
+    /** Ranked full-text / fuzzy search, served from Postgres even when Elasticsearch is unavailable. */
+    @GetMapping("/search")
+    public ResponseEntity<List<ItemResponse>> search(@RequestParam String q,
+                                                     @RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(itemService.search(q, page, size));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ItemResponse> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(itemService.getItemById(id));
+    public ResponseEntity<ItemResponse> getById(@PathVariable Long id, WebRequest request) {
+        ItemResponse item = itemService.getItemById(id);
+        return ConditionalGet.resource(request, item.getId(), item.getUpdatedAt(), () -> item);
     }
 
     @GetMapping("/number/{itemNumber}")
-    public ResponseEntity<ItemResponse> getByNumber(@PathVariable String itemNumber) {
-        return ResponseEntity.ok(itemService.getItemByNumber(itemNumber));
+    public ResponseEntity<ItemResponse> getByNumber(@PathVariable String itemNumber, WebRequest request) {
+        ItemResponse item = itemService.getItemByNumber(itemNumber);
+        return ConditionalGet.resource(request, item.getId(), item.getUpdatedAt(), () -> item);
     }
 
     @PostMapping
@@ -41,6 +71,13 @@ public class ItemController {
         return ResponseEntity.status(HttpStatus.CREATED).body(itemService.createItem(request));
     }
 
+    /** Bulk create-or-update keyed on item number; every row gets a result, invalid rows are skipped. */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ENGINEER')")
+    public ResponseEntity<ItemUpsertResponse> upsert(@RequestBody List<ItemRequest> requests) {
+        return ResponseEntity.ok(itemImportService.upsertItems(requests));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'ENGINEER')")
     public ResponseEntity<ItemResponse> update(@PathVariable Long id, @Valid @RequestBody ItemRequest request) {
@@ -10,6 +10,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,13 +22,15 @@ public class RevisionController {
     private final RevisionService revisionService;
 
     @GetMapping("/items/{itemId}/revisions")
-    public ResponseEntity<List<RevisionResponse>> getRevisionsByItem(@PathVariable Long itemId) {
-        return ResponseEntity.ok(revisionService.getRevisionsByItem(itemId));
+    public ResponseEntity<List<RevisionResponse>> getRevisionsByItem(@PathVariable Long itemId, WebRequest request) {
+        return ConditionalGet.collection(request, revisionService.watermarkByItem(itemId),
+                () -> revisionService.getRevisionsByItem(itemId));
     }
 
     @GetMapping("/revisions/{id}")
-    public ResponseEntity<RevisionResponse> getRevision(@PathVariable Long id) {
-        return ResponseEntity.ok(revisionService.getRevision(id));
+    public ResponseEntity<RevisionResponse> getRevision(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.resource(request, id, revisionService.watermark(id).getLastModified(),
+                () -> revisionService.getRevision(id));
     }
 
     @PostMapping("/items/{itemId}/revisions")
@@ -0,0 +1,66 @@
+package com.plm.controller;
+
+import com.plm.dto.DocumentResponse;
+import com.plm.dto.UploadPartResponse;
+import com.plm.dto.UploadSessionRequest;
+import com.plm.dto.UploadSessionResponse;
+import com.plm.service.UploadSessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Resumable chunked uploads. Initiate with the total size, PUT each part (1-based, any order,
+ * in parallel) as application/octet-stream, then POST complete. GET the session to see
+ * which parts are stored when resuming.
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class UploadSessionController {
+
+    private final UploadSessionService uploadSessionService;
+
+    @PostMapping("/revisions/{revisionId}/uploads")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ENGINEER')")
+    public ResponseEntity<UploadSessionResponse> initiate(@PathVariable Long revisionId,
+                                                          @Valid @RequestBody UploadSessionRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(uploadSessionService.initiate(revisionId, request));
+    }
+
+    @GetMapping("/uploads/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ENGINEER')")
+    public ResponseEntity<UploadSessionResponse> get(@PathVariable UUID id) {
+        return ResponseEntity.ok(uploadSessionService.getSession(id));
+    }
+
+    @PutMapping(value = "/uploads/{id}/parts/{partNumber}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'ENGINEER')")
+    public ResponseEntity<UploadPartResponse> uploadPart(@PathVariable UUID id,
+                                                         @PathVariable int partNumber,
+                                                         HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(uploadSessionService.uploadPart(id, partNumber,
+                request.getContentLengthLong(), request.getInputStream()));
+    }
+
+    @PostMapping("/uploads/{id}/complete")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ENGINEER')")
+    public ResponseEntity<DocumentResponse> complete(@PathVariable UUID id) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(uploadSessionService.complete(id));
+    }
+
+    @DeleteMapping("/uploads/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ENGINEER')")
+    public ResponseEntity<Void> abort(@PathVariable UUID id) {
+        uploadSessionService.abort(id);
+        return ResponseEntity.noContent().build();
+    }
+}
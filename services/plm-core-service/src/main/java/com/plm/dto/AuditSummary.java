@@ -0,0 +1,7 @@
+package com.plm.dto;
+
+/** A request that names its subject for audit details, instead of dumping every field. */
+public interface AuditSummary {
+
+    String auditSummary();
+}
@@ -0,0 +1,3 @@
+package com.plm.dto;
+
+public record BomChangeMessage(Long parentRevisionId, Long childRevisionId) {}
@@ -0,0 +1,24 @@
+package com.plm.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class BomDiffLineResponse {
+    public enum Change { ADDED, REMOVED, REVISION_CHANGED, QUANTITY_CHANGED, UNCHANGED }
+
+    /** Null for lines directly under the compared revisions. */
+    private Long parentItemId;
+    private String parentItemNumber;
+    private Long childItemId;
+    private String childItemNumber;
+    private String childItemName;
+    private Long revisionIdA;
+    private String revisionCodeA;
+    private BigDecimal quantityA;
+    private Long revisionIdB;
+    private String revisionCodeB;
+    private BigDecimal quantityB;
+    private Change change;
+}
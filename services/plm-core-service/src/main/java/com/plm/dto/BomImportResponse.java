@@ -0,0 +1,12 @@
+package com.plm.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BomImportResponse {
+    private int created;
+    private int rejected;
+    private List<BomImportRowResult> rows;
+}
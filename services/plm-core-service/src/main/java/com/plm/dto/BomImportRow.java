@@ -0,0 +1,17 @@
+package com.plm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/** One (parent, child, quantity) line of a bulk BOM import; validated per row, not by bean validation. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BomImportRow {
+    private Long parentRevisionId;
+    private Long childRevisionId;
+    private BigDecimal quantity;
+}
@@ -0,0 +1,18 @@
+package com.plm.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class BomImportRowResult {
+    public enum Status { CREATED, INVALID, NOT_FOUND, DUPLICATE, EXISTS, CYCLE }
+
+    /** 1-based position of the row in the request. */
+    private int row;
+    private Long parentRevisionId;
+    private Long childRevisionId;
+    private BigDecimal quantity;
+    private Status status;
+    private String message;
+}
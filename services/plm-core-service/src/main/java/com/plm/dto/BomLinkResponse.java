@@ -1,10 +1,15 @@
 package com.plm.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class BomLinkResponse {
     private Long id;
     private Long parentRevisionId;
@@ -12,4 +17,5 @@ public class BomLinkResponse {
     private String childItemNumber;
     private String childRevisionCode;
     private BigDecimal quantity;
+    private LocalDateTime updatedAt;
 }
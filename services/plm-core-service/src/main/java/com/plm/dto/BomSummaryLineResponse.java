@@ -0,0 +1,16 @@
+package com.plm.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class BomSummaryLineResponse {
+    private Long childRevisionId;
+    private Long childItemId;
+    private String childItemNumber;
+    private String childItemName;
+    private String childRevisionCode;
+    private BigDecimal totalQuantity;
+    private boolean leaf;
+}
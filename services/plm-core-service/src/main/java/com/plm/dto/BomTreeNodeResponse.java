@@ -0,0 +1,20 @@
+package com.plm.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class BomTreeNodeResponse {
+    private Long linkId;
+    private Long parentRevisionId;
+    private Long childRevisionId;
+    private Long childItemId;
+    private String childItemNumber;
+    private String childItemName;
+    private String childRevisionCode;
+    private BigDecimal quantity;
+    private BigDecimal extendedQuantity;
+    private int level;
+    private String path;
+}
@@ -6,7 +6,7 @@ import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 @Data
-public class ChangeRequestRequest {
+public class ChangeRequestRequest implements AuditSummary {
     @NotBlank
     @Size(max = 255)
     private String title;
@@ -16,4 +16,9 @@ public class ChangeRequestRequest {
     private ChangeRequestStatus status;
 
     private Long linkedItemId;
+
+    @Override
+    public String auditSummary() {
+        return title;
+    }
 }
@@ -6,7 +6,7 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Data
-public class ChangeRequestResponse {
+public class ChangeRequestResponse implements IdentifiedEntity {
     private Long id;
     private String title;
     private String description;
@@ -0,0 +1,4 @@
+package com.plm.dto;
+
+/** SHA-256 and byte length of an uploaded file, computed while streaming it. */
+public record ContentDigest(String sha256, long size) {}
@@ -0,0 +1,9 @@
+package com.plm.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is opaque to clients
+ * and is null once the last page has been returned.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {}
@@ -5,12 +5,14 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Data
-public class DocumentResponse {
+public class DocumentResponse implements IdentifiedEntity {
     private Long id;
     private Long revisionId;
     private String fileName;
     private String filePath;
     private String fileType;
+    private Long sizeBytes;
+    private String contentSha256;
     private String gltfPath;
     private String conversionStatus;
     private LocalDateTime uploadedAt;
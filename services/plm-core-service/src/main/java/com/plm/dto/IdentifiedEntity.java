@@ -0,0 +1,7 @@
+package com.plm.dto;
+
+/** A response that carries the id of the entity it describes; used to attribute audit entries. */
+public interface IdentifiedEntity {
+
+    Long getId();
+}
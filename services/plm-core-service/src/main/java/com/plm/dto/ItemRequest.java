@@ -6,7 +6,7 @@ import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 @Data
-public class ItemRequest {
+public class ItemRequest implements AuditSummary {
     @NotBlank
     @Size(max = 50)
     private String itemNumber;
@@ -18,4 +18,9 @@ public class ItemRequest {
     private String description;
 
     private LifecycleState lifecycleState;
+
+    @Override
+    public String auditSummary() {
+        return itemNumber;
+    }
 }
@@ -1,12 +1,16 @@
 package com.plm.dto;
 
 import com.plm.entity.LifecycleState;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
-public class ItemResponse {
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemResponse implements IdentifiedEntity {
     private Long id;
     private String itemNumber;
     private String name;
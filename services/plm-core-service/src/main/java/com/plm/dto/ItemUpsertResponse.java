@@ -0,0 +1,14 @@
+package com.plm.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ItemUpsertResponse {
+    private int created;
+    private int updated;
+    private int unchanged;
+    private int rejected;
+    private List<ItemUpsertRowResult> rows;
+}
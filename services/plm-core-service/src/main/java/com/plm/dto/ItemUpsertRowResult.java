@@ -0,0 +1,16 @@
+package com.plm.dto;
+
+import lombok.Data;
+
+@Data
+public class ItemUpsertRowResult {
+    public enum Status { CREATED, UPDATED, UNCHANGED, INVALID, DUPLICATE }
+
+    /** 1-based position of the row in the request. */
+    private int row;
+    private String itemNumber;
+    /** Null for rows that were rejected. */
+    private Long id;
+    private Status status;
+    private String message;
+}
@@ -0,0 +1,10 @@
+package com.plm.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class PresignedUploadCompleteRequest {
+    @NotBlank
+    private String objectName;
+}
@@ -0,0 +1,12 @@
+package com.plm.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class PresignedUploadRequest {
+    @NotBlank
+    @Size(max = 255)
+    private String fileName;
+}
@@ -0,0 +1,22 @@
+package com.plm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A URL the client calls directly. For presigned MinIO URLs {@code expiresAt} is set and no
+ * Authorization header may be sent with the request; for proxied URLs it is null.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresignedUrlResponse {
+    private String url;
+    private String method;
+    /** Object key to pass back when completing a presigned upload. */
+    private String objectName;
+    private LocalDateTime expiresAt;
+}
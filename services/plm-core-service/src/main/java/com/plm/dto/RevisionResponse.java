@@ -1,16 +1,21 @@
 package com.plm.dto;
 
 import com.plm.entity.RevisionStatus;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
-public class RevisionResponse {
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevisionResponse implements IdentifiedEntity {
     private Long id;
     private Long itemId;
     private String itemNumber;
     private String revisionCode;
     private RevisionStatus status;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
 }
@@ -0,0 +1,7 @@
+package com.plm.dto;
+
+import java.time.ZonedDateTime;
+
+/** A document's file as stored in MinIO: where it is, what to call it, and its current version. */
+public record StoredObject(String bucket, String object, String fileName, String contentType,
+                           long size, String etag, ZonedDateTime lastModified) {}
@@ -0,0 +1,14 @@
+package com.plm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadPartResponse {
+    private int partNumber;
+    private long sizeBytes;
+    private String etag;
+}
@@ -0,0 +1,23 @@
+package com.plm.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class UploadSessionRequest {
+    @NotBlank
+    @Size(max = 255)
+    private String fileName;
+
+    private String contentType;
+
+    @NotNull
+    @Positive
+    private Long totalSize;
+
+    /** Requested part size in bytes; the server default applies when omitted. */
+    private Long chunkSize;
+}
@@ -0,0 +1,23 @@
+package com.plm.dto;
+
+import com.plm.entity.UploadSessionStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class UploadSessionResponse {
+    private UUID id;
+    private Long revisionId;
+    private String fileName;
+    private long totalSize;
+    private long chunkSize;
+    private int partCount;
+    private UploadSessionStatus status;
+    /** Part numbers (1-based) already stored; a resuming client sends only the others. */
+    private List<Integer> uploadedParts;
+    private Long documentId;
+    private LocalDateTime expiresAt;
+}
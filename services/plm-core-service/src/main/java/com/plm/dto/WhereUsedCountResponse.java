@@ -0,0 +1,3 @@
+package com.plm.dto;
+
+public record WhereUsedCountResponse(long assemblies, long endItems) {}
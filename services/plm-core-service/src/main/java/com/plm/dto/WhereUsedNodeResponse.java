@@ -0,0 +1,19 @@
+package com.plm.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class WhereUsedNodeResponse {
+    private Long parentRevisionId;
+    private Long childRevisionId;
+    private Long parentItemId;
+    private String parentItemNumber;
+    private String parentItemName;
+    private String parentRevisionCode;
+    private BigDecimal quantity;
+    private int level;
+    private String path;
+    private boolean topLevel;
+}
@@ -2,8 +2,10 @@ package com.plm.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "bom_links", uniqueConstraints = {
@@ -27,4 +29,8 @@ public class BomLink {
     @Column(nullable = false, precision = 10, scale = 4)
     @Builder.Default
     private BigDecimal quantity = BigDecimal.ONE;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
 }
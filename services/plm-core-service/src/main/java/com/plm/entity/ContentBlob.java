@@ -0,0 +1,35 @@
+package com.plm.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/** A raw upload stored once under its SHA-256 and shared by every document with that content. */
+@Entity
+@Table(name = "content_blobs")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ContentBlob {
+
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    /** Bucket-qualified path, as stored in {@code documents.file_path}. */
+    @Column(name = "object_path", nullable = false, unique = true, length = 1024)
+    private String objectPath;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "gltf_path", length = 1024)
+    private String gltfPath;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
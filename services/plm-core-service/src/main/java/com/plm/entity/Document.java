@@ -31,6 +31,12 @@ public class Document {
     @Column(name = "file_type", length = 50)
     private String fileType;
 
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
+    @Column(name = "content_sha256", length = 64)
+    private String contentSha256;
+
     @Column(name = "gltf_path", length = 1024)
     private String gltfPath;
 
@@ -0,0 +1,34 @@
+package com.plm.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * One database session's share of a table's change counter, bumped by a statement-level
+ * trigger on every write to the table; the table's version is the sum over all sessions.
+ */
+@Entity
+@Table(name = "table_versions")
+@IdClass(TableVersion.Key.class)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class TableVersion {
+
+    @Id
+    @Column(name = "table_name", length = 63)
+    private String tableName;
+
+    @Id
+    @Column(name = "backend_pid")
+    private int backendPid;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Data @NoArgsConstructor @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String tableName;
+        private int backendPid;
+    }
+}
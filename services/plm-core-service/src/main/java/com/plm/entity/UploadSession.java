@@ -0,0 +1,71 @@
+package com.plm.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** A resumable upload in progress; backed by a MinIO multipart upload ({@code s3UploadId}). */
+@Entity
+@Table(name = "upload_sessions")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class UploadSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "revision_id", nullable = false)
+    private Long revisionId;
+
+    @Column(name = "file_name", nullable = false, length = 255)
+    private String fileName;
+
+    @Column(name = "content_type", length = 255)
+    private String contentType;
+
+    @Column(name = "total_size", nullable = false)
+    private long totalSize;
+
+    @Column(name = "chunk_size", nullable = false)
+    private long chunkSize;
+
+    @Column(name = "part_count", nullable = false)
+    private int partCount;
+
+    @Column(name = "object_name", nullable = false, length = 1024)
+    private String objectName;
+
+    @Column(name = "s3_upload_id", nullable = false, length = 1024)
+    private String s3UploadId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private UploadSessionStatus status = UploadSessionStatus.ACTIVE;
+
+    @Column(name = "created_by", length = 100)
+    private String createdBy;
+
+    @Column(name = "document_id")
+    private Long documentId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /** Exact byte length part {@code partNumber} must have: the chunk size, except for the last part. */
+    public long expectedPartSize(int partNumber) {
+        return partNumber < partCount ? chunkSize : totalSize - chunkSize * (partCount - 1);
+    }
+}
@@ -0,0 +1,35 @@
+package com.plm.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "upload_session_parts",
+       uniqueConstraints = @UniqueConstraint(name = "uq_upload_session_part", columnNames = {"session_id", "part_number"}))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class UploadSessionPart {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private UUID sessionId;
+
+    @Column(name = "part_number", nullable = false)
+    private int partNumber;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(nullable = false, length = 255)
+    private String etag;
+
+    @CreationTimestamp
+    @Column(name = "uploaded_at", nullable = false)
+    private LocalDateTime uploadedAt;
+}
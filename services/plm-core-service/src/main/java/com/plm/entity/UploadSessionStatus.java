@@ -0,0 +1,5 @@
+package com.plm.entity;
+
+public enum UploadSessionStatus {
+    ACTIVE, COMPLETED, ABORTED
+}
@@ -1,13 +1,68 @@
 package com.plm.repository;
 
 import com.plm.entity.AuditLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * audit_log is range-partitioned by month on created_at; every query carries a
+ * [from, to) bound so Postgres only scans the partitions that overlap it.
+ */
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
-    Page<AuditLog> findByEntityTypeAndEntityId(String entityType, Long entityId, Pageable pageable);
-    Page<AuditLog> findAllByOrderByCreatedAtDesc(Pageable pageable);
+
+    @Query("SELECT a FROM AuditLog a WHERE a.createdAt >= :from AND a.createdAt < :to")
+    Page<AuditLog> findInRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable pageable);
+
+    @Query("SELECT a FROM AuditLog a WHERE a.entityType = :entityType AND a.entityId = :entityId " +
+           "AND a.createdAt >= :from AND a.createdAt < :to")
+    Page<AuditLog> findByEntityInRange(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+                                       @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                       Pageable pageable);
+
+    /**
+     * Newest-first keyset page: rows strictly before (beforeCreatedAt, beforeId) and at or
+     * after {@code from}. Selected as unmanaged instances, and without a count query.
+     */
+    @Query("SELECT new com.plm.entity.AuditLog(a.id, a.username, a.action, a.entityType, a.entityId, " +
+           "a.details, a.createdAt) FROM AuditLog a " +
+           "WHERE (a.createdAt < :beforeCreatedAt OR (a.createdAt = :beforeCreatedAt AND a.id < :beforeId)) " +
+           "AND a.createdAt >= :from " +
+           "AND (:username IS NULL OR a.username = :username) " +
+           "AND (:action IS NULL OR a.action = :action) " +
+           "AND (:entityType IS NULL OR a.entityType = :entityType) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findPage(@Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                            @Param("beforeId") long beforeId,
+                            @Param("from") LocalDateTime from,
+                            @Param("username") String username,
+                            @Param("action") String action,
+                            @Param("entityType") String entityType,
+                            Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.plm.entity.AuditLog(a.id, a.username, a.action, a.entityType, a.entityId, " +
+           "a.details, a.createdAt) FROM AuditLog a " +
+           "WHERE a.createdAt >= :from AND a.createdAt < :to " +
+           "AND (:username IS NULL OR a.username = :username) " +
+           "AND (:action IS NULL OR a.action = :action) " +
+           "AND (:entityType IS NULL OR a.entityType = :entityType) " +
+           "ORDER BY a.createdAt, a.id")
+    Stream<AuditLog> streamForExport(@Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to,
+                                     @Param("username") String username,
+                                     @Param("action") String action,
+                                     @Param("entityType") String entityType);
 }
@@ -0,0 +1,19 @@
+package com.plm.repository;
+
+import java.math.BigDecimal;
+
+/** One line of a BOM comparison, as returned by {@link BomLinkRepository#diff}. */
+public interface BomDiffRow {
+    Long getParentItemId();
+    String getParentItemNumber();
+    Long getChildItemId();
+    String getChildItemNumber();
+    String getChildItemName();
+    Long getRevisionIdA();
+    String getRevisionCodeA();
+    BigDecimal getQuantityA();
+    Long getRevisionIdB();
+    String getRevisionCodeB();
+    BigDecimal getQuantityB();
+    String getChange();
+}
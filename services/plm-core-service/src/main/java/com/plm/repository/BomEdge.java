@@ -0,0 +1,7 @@
+package com.plm.repository;
+
+/** A bare parent → child BOM edge (revision ids only). */
+public interface BomEdge {
+    Long getParentRevisionId();
+    Long getChildRevisionId();
+}
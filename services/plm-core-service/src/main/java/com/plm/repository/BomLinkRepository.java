@@ -1,10 +1,19 @@
 package com.plm.repository;
 
+import com.plm.dto.BomLinkResponse;
 import com.plm.entity.BomLink;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface BomLinkRepository extends JpaRepository<BomLink, Long> {
@@ -12,4 +21,264 @@ public interface BomLinkRepository extends JpaRepository<BomLink, Long> {
     List<BomLink> findByChildRevisionId(Long childRevisionId);
     boolean existsByParentRevisionIdAndChildRevisionId(Long parentRevisionId, Long childRevisionId);
     void deleteByParentRevisionIdAndChildRevisionId(Long parentRevisionId, Long childRevisionId);
+
+    @Query("SELECT l.childRevision.id FROM BomLink l WHERE l.parentRevision.id = :parentRevisionId")
+    List<Long> findChildIds(@Param("parentRevisionId") Long parentRevisionId);
+
+    @Query("SELECT l.parentRevision.id FROM BomLink l WHERE l.childRevision.id = :childRevisionId")
+    List<Long> findParentIds(@Param("childRevisionId") Long childRevisionId);
+
+    @Query("SELECT l.parentRevision.id AS parentRevisionId, l.childRevision.id AS childRevisionId " +
+           "FROM BomLink l WHERE l.parentRevision.id IN :parentRevisionIds")
+    List<BomEdge> findEdgesFrom(@Param("parentRevisionIds") Collection<Long> parentRevisionIds);
+
+    /** Ids of every revision that transitively uses any of {@code revisionIds} (UNION walk, cycle-safe). */
+    @Query(value = """
+            WITH RECURSIVE used (revision_id) AS (
+                SELECT l.parent_revision_id FROM bom_links l WHERE l.child_revision_id IN (:revisionIds)
+                UNION
+                SELECT l.parent_revision_id FROM bom_links l JOIN used u ON l.child_revision_id = u.revision_id
+            )
+            SELECT revision_id FROM used
+            """, nativeQuery = true)
+    List<Long> findAncestorIds(@Param("revisionIds") Collection<Long> revisionIds);
+
+    /** Every distinct edge reachable downwards from any of {@code revisionIds} (UNION walk, cycle-safe). */
+    @Query(value = """
+            WITH RECURSIVE reach (parent_revision_id, child_revision_id) AS (
+                SELECT l.parent_revision_id, l.child_revision_id
+                FROM bom_links l WHERE l.parent_revision_id IN (:revisionIds)
+                UNION
+                SELECT l.parent_revision_id, l.child_revision_id
+                FROM bom_links l JOIN reach r ON l.parent_revision_id = r.child_revision_id
+            )
+            SELECT parent_revision_id AS "parentRevisionId", child_revision_id AS "childRevisionId" FROM reach
+            """, nativeQuery = true)
+    List<BomEdge> findEdgesBelow(@Param("revisionIds") Collection<Long> revisionIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.plm.dto.BomLinkResponse(l.id, p.id, c.id, ci.itemNumber, c.revisionCode, " +
+           "l.quantity, l.updatedAt) FROM BomLink l JOIN l.parentRevision p JOIN l.childRevision c JOIN c.item ci " +
+           "WHERE (:since IS NULL OR l.updatedAt >= :since) " +
+           "ORDER BY l.updatedAt, l.id")
+    Stream<BomLinkResponse> streamForExport(@Param("since") LocalDateTime since);
+
+    /**
+     * Explodes the BOM below {@code rootId} in one round-trip. Rows come back in depth-first
+     * order with the quantity multiplied down from the root. The path is carried as a
+     * BIGINT[] and ordered numerically, element by element; a '/'-joined string would only
+     * sort depth-first under byte collation ("1/20" sorts before "1/2/5" under en_US).
+     * {@code maxDepth} bounds the recursion, which also keeps any legacy cycles finite.
+     */
+    @Query(value = """
+            WITH RECURSIVE tree (link_id, parent_revision_id, child_revision_id, quantity, extended_quantity, lvl, path) AS (
+                SELECT l.id, l.parent_revision_id, l.child_revision_id, l.quantity,
+                       CAST(l.quantity AS NUMERIC), 1,
+                       ARRAY[l.parent_revision_id, l.child_revision_id]
+                FROM bom_links l
+                WHERE l.parent_revision_id = :rootId
+                UNION ALL
+                SELECT l.id, l.parent_revision_id, l.child_revision_id, l.quantity,
+                       CAST(t.extended_quantity * l.quantity AS NUMERIC), t.lvl + 1,
+                       t.path || l.child_revision_id
+                FROM bom_links l
+                JOIN tree t ON l.parent_revision_id = t.child_revision_id
+                WHERE t.lvl < :maxDepth
+            )
+            SELECT t.link_id AS "linkId", t.parent_revision_id AS "parentRevisionId",
+                   t.child_revision_id AS "childRevisionId", i.id AS "childItemId",
+                   i.item_number AS "childItemNumber", i.name AS "childItemName",
+                   r.revision_code AS "childRevisionCode", t.quantity AS "quantity",
+                   t.extended_quantity AS "extendedQuantity", t.lvl AS "level",
+                   ARRAY_TO_STRING(t.path, '/') AS "path"
+            FROM tree t
+            JOIN revisions r ON r.id = t.child_revision_id
+            JOIN items i ON i.id = r.item_id
+            ORDER BY t.path
+            """, nativeQuery = true)
+    List<BomTreeRow> explode(@Param("rootId") Long rootId, @Param("maxDepth") int maxDepth);
+
+    /**
+     * Every ancestor path above {@code revisionId}, walking bom_links upwards. The path
+     * lists revision ids from the starting revision to the ancestor; a branch stops as
+     * soon as it would revisit a revision already on its path, so cyclic data terminates.
+     * As in {@link #explode}, the path is a BIGINT[] so ordering is numeric, not collation-bound.
+     * {@code topLevel} marks end items (revisions that are not used anywhere themselves).
+     */
+    @Query(value = """
+            WITH RECURSIVE used (parent_revision_id, child_revision_id, quantity, lvl, path, is_cycle) AS (
+                SELECT l.parent_revision_id, l.child_revision_id, l.quantity, 1,
+                       ARRAY[l.child_revision_id, l.parent_revision_id],
+                       FALSE
+                FROM bom_links l
+                WHERE l.child_revision_id = :revisionId
+                UNION ALL
+                SELECT l.parent_revision_id, l.child_revision_id, l.quantity, u.lvl + 1,
+                       u.path || l.parent_revision_id,
+                       l.parent_revision_id = ANY(u.path)
+                FROM bom_links l
+                JOIN used u ON l.child_revision_id = u.parent_revision_id
+                WHERE NOT u.is_cycle AND u.lvl < :maxDepth
+            )
+            SELECT u.parent_revision_id AS "parentRevisionId", u.child_revision_id AS "childRevisionId",
+                   i.id AS "parentItemId", i.item_number AS "parentItemNumber", i.name AS "parentItemName",
+                   r.revision_code AS "parentRevisionCode", u.quantity AS "quantity",
+                   u.lvl AS "level", ARRAY_TO_STRING(u.path, '/') AS "path",
+                   NOT EXISTS (SELECT 1 FROM bom_links p WHERE p.child_revision_id = u.parent_revision_id) AS "topLevel"
+            FROM used u
+            JOIN revisions r ON r.id = u.parent_revision_id
+            JOIN items i ON i.id = r.item_id
+            WHERE NOT u.is_cycle
+            ORDER BY u.path
+            """, nativeQuery = true)
+    List<WhereUsedRow> whereUsed(@Param("revisionId") Long revisionId, @Param("maxDepth") int maxDepth);
+
+    /**
+     * Number of distinct assemblies that transitively consume any of {@code revisionIds},
+     * and how many of those are end items. Uses UNION so each revision is visited once,
+     * which keeps the walk linear and cycle-safe without tracking paths.
+     */
+    @Query(value = """
+            WITH RECURSIVE used (revision_id) AS (
+                SELECT l.parent_revision_id
+                FROM bom_links l
+                WHERE l.child_revision_id IN (:revisionIds)
+                UNION
+                SELECT l.parent_revision_id
+                FROM bom_links l
+                JOIN used u ON l.child_revision_id = u.revision_id
+            )
+            SELECT COUNT(*) AS "assemblies",
+                   COALESCE(SUM(CASE WHEN NOT EXISTS (SELECT 1 FROM bom_links p WHERE p.child_revision_id = u.revision_id)
+                                     THEN 1 ELSE 0 END), 0) AS "endItems"
+            FROM used u
+            """, nativeQuery = true)
+    WhereUsedCount countWhereUsed(@Param("revisionIds") Collection<Long> revisionIds);
+
+    /**
+     * Every distinct edge below {@code rootId}, each exactly once however many paths lead to it.
+     * The UNION (not UNION ALL) de-duplicates edge rows, which keeps this linear in the size of
+     * the sub-structure and terminates on cyclic data.
+     */
+    @Query(value = """
+            WITH RECURSIVE sub (parent_revision_id, child_revision_id, quantity) AS (
+                SELECT l.parent_revision_id, l.child_revision_id, l.quantity
+                FROM bom_links l
+                WHERE l.parent_revision_id = :rootId
+                UNION
+                SELECT l.parent_revision_id, l.child_revision_id, l.quantity
+                FROM bom_links l
+                JOIN sub s ON l.parent_revision_id = s.child_revision_id
+            )
+            SELECT s.parent_revision_id AS "parentRevisionId", s.child_revision_id AS "childRevisionId",
+                   s.quantity AS "quantity", i.id AS "childItemId", i.item_number AS "childItemNumber",
+                   i.name AS "childItemName", r.revision_code AS "childRevisionCode"
+            FROM sub s
+            JOIN revisions r ON r.id = s.child_revision_id
+            JOIN items i ON i.id = r.item_id
+            """, nativeQuery = true)
+    List<BomStructureRow> findStructure(@Param("rootId") Long rootId);
+
+    /**
+     * Compares the BOMs below revisions {@code a} and {@code b} with a full outer join keyed on
+     * (parent item, child item). Lines directly under either root share the parent key -1, so
+     * two revisions of the same assembly (or two different assemblies) line up at the top.
+     * With {@code multiLevel} false the recursive term is disabled and only direct children
+     * are compared; otherwise every distinct edge of both sub-structures takes part.
+     */
+    @Query(value = """
+            WITH RECURSIVE sub_a (parent_revision_id, child_revision_id, quantity) AS (
+                SELECT l.parent_revision_id, l.child_revision_id, l.quantity
+                FROM bom_links l WHERE l.parent_revision_id = :a
+                UNION
+                SELECT l.parent_revision_id, l.child_revision_id, l.quantity
+                FROM bom_links l JOIN sub_a s ON l.parent_revision_id = s.child_revision_id
+                WHERE :multiLevel = TRUE
+            ),
+            sub_b (parent_revision_id, child_revision_id, quantity) AS (
+                SELECT l.parent_revision_id, l.child_revision_id, l.quantity
+                FROM bom_links l WHERE l.parent_revision_id = :b
+                UNION
+                SELECT l.parent_revision_id, l.child_revision_id, l.quantity
+                FROM bom_links l JOIN sub_b s ON l.parent_revision_id = s.child_revision_id
+                WHERE :multiLevel = TRUE
+            ),
+            lines_a AS (
+                SELECT CASE WHEN s.parent_revision_id = :a THEN -1 ELSE pr.item_id END AS parent_item_id,
+                       cr.item_id AS child_item_id, s.child_revision_id, s.quantity
+                FROM sub_a s
+                JOIN revisions pr ON pr.id = s.parent_revision_id
+                JOIN revisions cr ON cr.id = s.child_revision_id
+            ),
+            lines_b AS (
+                SELECT CASE WHEN s.parent_revision_id = :b THEN -1 ELSE pr.item_id END AS parent_item_id,
+                       cr.item_id AS child_item_id, s.child_revision_id, s.quantity
+                FROM sub_b s
+                JOIN revisions pr ON pr.id = s.parent_revision_id
+                JOIN revisions cr ON cr.id = s.child_revision_id
+            ),
+            diff AS (
+                SELECT COALESCE(la.parent_item_id, lb.parent_item_id) AS parent_item_id,
+                       COALESCE(la.child_item_id, lb.child_item_id) AS child_item_id,
+                       la.child_revision_id AS revision_id_a, la.quantity AS quantity_a,
+                       lb.child_revision_id AS revision_id_b, lb.quantity AS quantity_b,
+                       CASE WHEN la.child_item_id IS NULL THEN 'ADDED'
+                            WHEN lb.child_item_id IS NULL THEN 'REMOVED'
+                            WHEN la.child_revision_id <> lb.child_revision_id THEN 'REVISION_CHANGED'
+                            WHEN la.quantity <> lb.quantity THEN 'QUANTITY_CHANGED'
+                            ELSE 'UNCHANGED' END AS change
+                FROM lines_a la
+                FULL OUTER JOIN lines_b lb
+                  ON la.parent_item_id = lb.parent_item_id AND la.child_item_id = lb.child_item_id
+            )
+            SELECT NULLIF(d.parent_item_id, -1) AS "parentItemId", pi.item_number AS "parentItemNumber",
+                   d.child_item_id AS "childItemId", ci.item_number AS "childItemNumber", ci.name AS "childItemName",
+                   d.revision_id_a AS "revisionIdA", ra.revision_code AS "revisionCodeA", d.quantity_a AS "quantityA",
+                   d.revision_id_b AS "revisionIdB", rb.revision_code AS "revisionCodeB", d.quantity_b AS "quantityB",
+                   d.change AS "change"
+            FROM diff d
+            JOIN items ci ON ci.id = d.child_item_id
+            LEFT JOIN items pi ON pi.id = d.parent_item_id
+            LEFT JOIN revisions ra ON ra.id = d.revision_id_a
+            LEFT JOIN revisions rb ON rb.id = d.revision_id_b
+            WHERE :includeUnchanged = TRUE OR d.change <> 'UNCHANGED'
+            ORDER BY pi.item_number NULLS FIRST, ci.item_number
+            """, nativeQuery = true)
+    List<BomDiffRow> diff(@Param("a") Long a, @Param("b") Long b,
+                          @Param("multiLevel") boolean multiLevel,
+                          @Param("includeUnchanged") boolean includeUnchanged);
+
+    /** Watermark of the direct children of {@code parentRevisionId}, including the child revisions and items. */
+    @Query(value = """
+            SELECT COUNT(*) AS "count", GREATEST(MAX(l.updated_at), MAX(r.updated_at), MAX(i.updated_at)) AS "lastModified"
+            FROM bom_links l
+            JOIN revisions r ON r.id = l.child_revision_id
+            JOIN items i ON i.id = r.item_id
+            WHERE l.parent_revision_id = :parentRevisionId
+            """, nativeQuery = true)
+    VersionWatermark watermarkOfChildren(@Param("parentRevisionId") Long parentRevisionId);
+
+    /** Watermark of the links that use {@code childRevisionId}, including that revision and its item. */
+    @Query(value = """
+            SELECT COUNT(*) AS "count", GREATEST(MAX(l.updated_at), MAX(r.updated_at), MAX(i.updated_at)) AS "lastModified"
+            FROM bom_links l
+            JOIN revisions r ON r.id = l.child_revision_id
+            JOIN items i ON i.id = r.item_id
+            WHERE l.child_revision_id = :childRevisionId
+            """, nativeQuery = true)
+    VersionWatermark watermarkOfParents(@Param("childRevisionId") Long childRevisionId);
+
+    /**
+     * Watermark of the whole product structure, for multi-level views whose extent is only
+     * known after walking it: the sum of the maintained versions of the three tables it
+     * shows (see {@code table_versions}), which every insert, update and delete moves.
+     */
+    @Query(value = """
+            SELECT (SELECT COALESCE(SUM(version), 0) FROM table_versions
+                    WHERE table_name IN ('bom_links', 'revisions', 'items')) AS "count",
+                   GREATEST((SELECT MAX(updated_at) FROM bom_links),
+                            (SELECT MAX(updated_at) FROM revisions),
+                            (SELECT MAX(updated_at) FROM items)) AS "lastModified"
+            """, nativeQuery = true)
+    VersionWatermark watermarkOfStructure();
 }
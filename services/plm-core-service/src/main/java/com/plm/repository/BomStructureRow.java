@@ -0,0 +1,14 @@
+package com.plm.repository;
+
+import java.math.BigDecimal;
+
+/** A distinct BOM edge below a root, with the child's item attributes; see {@link BomLinkRepository#findStructure}. */
+public interface BomStructureRow {
+    Long getParentRevisionId();
+    Long getChildRevisionId();
+    BigDecimal getQuantity();
+    Long getChildItemId();
+    String getChildItemNumber();
+    String getChildItemName();
+    String getChildRevisionCode();
+}
@@ -0,0 +1,18 @@
+package com.plm.repository;
+
+import java.math.BigDecimal;
+
+/** One line of a recursive BOM explosion, as returned by {@link BomLinkRepository#explode}. */
+public interface BomTreeRow {
+    Long getLinkId();
+    Long getParentRevisionId();
+    Long getChildRevisionId();
+    Long getChildItemId();
+    String getChildItemNumber();
+    String getChildItemName();
+    String getChildRevisionCode();
+    BigDecimal getQuantity();
+    BigDecimal getExtendedQuantity();
+    Integer getLevel();
+    String getPath();
+}
@@ -0,0 +1,33 @@
+package com.plm.repository;
+
+import com.plm.entity.ContentBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ContentBlobRepository extends JpaRepository<ContentBlob, String> {
+
+    /** Row-locks the blob so a new reference and the release of the last one cannot interleave. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM ContentBlob b WHERE b.sha256 = :sha256")
+    Optional<ContentBlob> findByIdForUpdate(@Param("sha256") String sha256);
+
+    /**
+     * Creates the blob with one reference, or adds a reference if a concurrent upload of the
+     * same content created it first.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO content_blobs (sha256, object_path, size_bytes, ref_count) "
+            + "VALUES (:sha256, :objectPath, :sizeBytes, 1) "
+            + "ON CONFLICT (sha256) DO UPDATE SET ref_count = content_blobs.ref_count + 1",
+            nativeQuery = true)
+    void insertOrReference(@Param("sha256") String sha256, @Param("objectPath") String objectPath,
+                           @Param("sizeBytes") long sizeBytes);
+}
@@ -10,4 +10,5 @@ import java.util.List;
 public interface DocumentRepository extends JpaRepository<Document, Long> {
     List<Document> findByRevisionId(Long revisionId);
     List<Document> findByRevisionIdAndFileType(Long revisionId, String fileType);
+    boolean existsByFilePath(String filePath);
 }
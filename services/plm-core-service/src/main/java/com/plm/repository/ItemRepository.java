@@ -1,23 +1,86 @@
 package com.plm.repository;
 
+import com.plm.dto.ItemResponse;
 import com.plm.entity.Item;
 import com.plm.entity.LifecycleState;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    /** Read-only transactional like the inherited {@code findById}, for callers that hold none. */
+    @Transactional(readOnly = true)
     Optional<Item> findByItemNumber(String itemNumber);
     boolean existsByItemNumber(String itemNumber);
     List<Item> findByLifecycleState(LifecycleState lifecycleState);
     List<Item> findByNameContainingIgnoreCase(String name);
 
-    @org.springframework.data.jpa.repository.Query(
-        "SELECT i FROM Item i WHERE LOWER(i.itemNumber) LIKE LOWER(CONCAT('%',:q,'%')) " +
-        "OR LOWER(i.name) LIKE LOWER(CONCAT('%',:q,'%')) " +
-        "OR LOWER(i.description) LIKE LOWER(CONCAT('%',:q,'%'))")
-    List<Item> search(@org.springframework.data.repository.query.Param("q") String q);
+    /**
+     * Ranked search: full-text match on the weighted {@code search_vector} (item number, then
+     * name, then description), plus substring and trigram-similarity matches on item number
+     * and name so partial or mistyped part numbers still hit. Every predicate is served by a
+     * GIN index (V7); results are ordered by text rank plus item-number similarity.
+     */
+    @Query(value = """
+            SELECT i.* FROM items i,
+                   (SELECT websearch_to_tsquery('english', :q) || websearch_to_tsquery('simple', :q) AS query) t
+            WHERE i.search_vector @@ t.query
+               OR i.item_number ILIKE CONCAT('%', :q, '%')
+               OR i.name ILIKE CONCAT('%', :q, '%')
+               OR i.item_number % :q
+            ORDER BY ts_rank_cd(i.search_vector, t.query) + similarity(i.item_number, :q) DESC, i.id
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<Item> search(@Param("q") String q, @Param("limit") int limit, @Param("offset") long offset);
+
+    // Keyset pages read straight into DTOs so no Item entities are hydrated or tracked.
+
+    @Query("SELECT new com.plm.dto.ItemResponse(i.id, i.itemNumber, i.name, i.description, " +
+           "i.lifecycleState, i.createdAt, i.updatedAt) FROM Item i " +
+           "WHERE i.id > :afterId " +
+           "AND (:state IS NULL OR i.lifecycleState = :state) " +
+           "AND (:since IS NULL OR i.updatedAt >= :since) " +
+           "ORDER BY i.id")
+    List<ItemResponse> findPageOrderById(@Param("afterId") long afterId,
+                                         @Param("state") LifecycleState state,
+                                         @Param("since") LocalDateTime since,
+                                         Limit limit);
+
+    @Query("SELECT new com.plm.dto.ItemResponse(i.id, i.itemNumber, i.name, i.description, " +
+           "i.lifecycleState, i.createdAt, i.updatedAt) FROM Item i " +
+           "WHERE (i.updatedAt > :afterUpdatedAt OR (i.updatedAt = :afterUpdatedAt AND i.id > :afterId)) " +
+           "AND (:state IS NULL OR i.lifecycleState = :state) " +
+           "AND (:since IS NULL OR i.updatedAt >= :since) " +
+           "ORDER BY i.updatedAt, i.id")
+    List<ItemResponse> findPageOrderByUpdatedAt(@Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+                                                @Param("afterId") long afterId,
+                                                @Param("state") LifecycleState state,
+                                                @Param("since") LocalDateTime since,
+                                                Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.plm.dto.ItemResponse(i.id, i.itemNumber, i.name, i.description, " +
+           "i.lifecycleState, i.createdAt, i.updatedAt) FROM Item i " +
+           "WHERE (:since IS NULL OR i.updatedAt >= :since) " +
+           "ORDER BY i.updatedAt, i.id")
+    Stream<ItemResponse> streamForExport(@Param("since") LocalDateTime since);
+
+    /** The maintained version of {@code items} (see {@code table_versions}); no table scan. */
+    @Query(value = """
+            SELECT (SELECT COALESCE(SUM(version), 0) FROM table_versions WHERE table_name = 'items') AS "count",
+                   (SELECT MAX(updated_at) FROM items) AS "lastModified"
+            """, nativeQuery = true)
+    VersionWatermark watermark();
 }
@@ -1,12 +1,23 @@
 package com.plm.repository;
 
+import com.plm.dto.RevisionResponse;
 import com.plm.entity.Revision;
 import com.plm.entity.RevisionStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RevisionRepository extends JpaRepository<Revision, Long> {
@@ -14,4 +25,35 @@ public interface RevisionRepository extends JpaRepository<Revision, Long> {
     Optional<Revision> findByItemIdAndRevisionCode(Long itemId, String revisionCode);
     List<Revision> findByItemIdOrderByRevisionCodeAsc(Long itemId);
     List<Revision> findByStatus(RevisionStatus status);
+
+    @Query("SELECT r.id FROM Revision r WHERE r.item.id = :itemId")
+    List<Long> findIdsByItemId(@Param("itemId") Long itemId);
+
+    /** SELECT ... FOR UPDATE in id order, so concurrent lockers cannot deadlock each other. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Revision r WHERE r.id IN :ids ORDER BY r.id")
+    List<Revision> lockAllById(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.plm.dto.RevisionResponse(r.id, i.id, i.itemNumber, r.revisionCode, " +
+           "r.status, r.createdAt, r.updatedAt) FROM Revision r JOIN r.item i " +
+           "WHERE (:since IS NULL OR r.updatedAt >= :since) " +
+           "ORDER BY r.updatedAt, r.id")
+    Stream<RevisionResponse> streamForExport(@Param("since") LocalDateTime since);
+
+    /** Watermark of one revision, including the item whose number it displays. */
+    @Query(value = """
+            SELECT COUNT(*) AS "count", GREATEST(MAX(r.updated_at), MAX(i.updated_at)) AS "lastModified"
+            FROM revisions r JOIN items i ON i.id = r.item_id
+            WHERE r.id = :id
+            """, nativeQuery = true)
+    VersionWatermark watermark(@Param("id") Long id);
+
+    /** Watermark of an item's revision list, including the item itself. */
+    @Query(value = """
+            SELECT COUNT(r.id) AS "count", GREATEST(MAX(r.updated_at), MAX(i.updated_at)) AS "lastModified"
+            FROM items i LEFT JOIN revisions r ON r.item_id = i.id
+            WHERE i.id = :itemId
+            """, nativeQuery = true)
+    VersionWatermark watermarkByItem(@Param("itemId") Long itemId);
 }
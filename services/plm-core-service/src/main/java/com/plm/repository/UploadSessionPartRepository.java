@@ -0,0 +1,17 @@
+package com.plm.repository;
+
+import com.plm.entity.UploadSessionPart;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UploadSessionPartRepository extends JpaRepository<UploadSessionPart, Long> {
+
+    List<UploadSessionPart> findBySessionIdOrderByPartNumber(UUID sessionId);
+
+    Optional<UploadSessionPart> findBySessionIdAndPartNumber(UUID sessionId, int partNumber);
+}
@@ -0,0 +1,34 @@
+package com.plm.repository;
+
+import com.plm.entity.UploadSession;
+import com.plm.entity.UploadSessionStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, UUID> {
+
+    /** Row-locks the session so complete and abort cannot run concurrently. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UploadSession s WHERE s.id = :id")
+    Optional<UploadSession> findByIdForUpdate(@Param("id") UUID id);
+
+    List<UploadSession> findTop100ByStatusAndExpiresAtBefore(UploadSessionStatus status, LocalDateTime cutoff);
+
+    /** Removes finished sessions (and, by cascade, their part rows) last touched before the cutoff. */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UploadSession s WHERE s.status <> com.plm.entity.UploadSessionStatus.ACTIVE AND s.updatedAt < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,15 @@
+package com.plm.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap version stamp of a set of rows: a change counter and the newest {@code updated_at}
+ * among them (and the rows they display). For a small filtered set the counter is the row
+ * count; for a whole table it is the table's maintained version in {@code table_versions},
+ * since a COUNT(*) would scan it. Either way it catches deletions, which never move the
+ * timestamp. Used to answer conditional GETs without loading the rows themselves.
+ */
+public interface VersionWatermark {
+    long getCount();
+    LocalDateTime getLastModified();
+}
@@ -0,0 +1,7 @@
+package com.plm.repository;
+
+/** Aggregate result of {@link BomLinkRepository#countWhereUsed}. */
+public interface WhereUsedCount {
+    Long getAssemblies();
+    Long getEndItems();
+}
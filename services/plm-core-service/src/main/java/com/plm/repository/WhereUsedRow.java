@@ -0,0 +1,17 @@
+package com.plm.repository;
+
+import java.math.BigDecimal;
+
+/** One ancestor edge of a recursive where-used query, as returned by {@link BomLinkRepository#whereUsed}. */
+public interface WhereUsedRow {
+    Long getParentRevisionId();
+    Long getChildRevisionId();
+    Long getParentItemId();
+    String getParentItemNumber();
+    String getParentItemName();
+    String getParentRevisionCode();
+    BigDecimal getQuantity();
+    Integer getLevel();
+    String getPath();
+    Boolean getTopLevel();
+}
@@ -0,0 +1,40 @@
+package com.plm.service;
+
+import com.plm.entity.AuditLog;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/** RFC 4180 rows for audit entries, shared by the CSV export and the partition archive. */
+final class AuditLogCsv {
+
+    static final String HEADER = "id,username,action,entity_type,entity_id,details,created_at\n";
+
+    private AuditLogCsv() {
+    }
+
+    static void write(Writer out, AuditLog entry) throws IOException {
+        writeRow(out, str(entry.getId()), entry.getUsername(), entry.getAction(), entry.getEntityType(),
+                str(entry.getEntityId()), entry.getDetails(), str(entry.getCreatedAt()));
+    }
+
+    static void writeRow(Writer out, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) out.write(',');
+            String v = values[i];
+            if (v == null) continue;
+            if (v.indexOf(',') >= 0 || v.indexOf('"') >= 0 || v.indexOf('\n') >= 0 || v.indexOf('\r') >= 0) {
+                out.write('"');
+                out.write(v.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(v);
+            }
+        }
+        out.write('\n');
+    }
+
+    private static String str(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
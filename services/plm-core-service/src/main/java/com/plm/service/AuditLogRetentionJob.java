@@ -0,0 +1,169 @@
+package com.plm.service;
+
+import io.minio.BucketExistsArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.UploadObjectArgs;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Maintains the monthly partitions of {@code audit_log} (see V9). Keeps the current month and
+ * {@code plm.audit.partitions-ahead} months created, and retires months older than
+ * {@code plm.audit.retention-months}: the partition is detached, written to MinIO as gzipped
+ * CSV under {@code audit-log/}, and only then dropped. A partition whose upload failed stays
+ * detached and is picked up again on the next run.
+ */
+@Component
+@ConditionalOnProperty(prefix = "plm.audit.retention", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class AuditLogRetentionJob {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("audit_log_y(\\d{4})m(\\d{2})");
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT c.relname, c.relispartition
+            FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE n.nspname = current_schema() AND c.relkind = 'r' AND c.relname ~ '^audit_log_y[0-9]{4}m[0-9]{2}$'
+            ORDER BY c.relname
+            """;
+    private static final int EXPORT_FETCH_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MinioClient minioClient;
+    private final TransactionTemplate readOnlyTransaction;
+    private final String archiveBucket;
+    private final int retentionMonths;
+    private final int partitionsAhead;
+
+    public AuditLogRetentionJob(JdbcTemplate jdbcTemplate,
+                                MinioClient minioClient,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${plm.audit.archive-bucket:audit-archive}") String archiveBucket,
+                                @Value("${plm.audit.retention-months:12}") int retentionMonths,
+                                @Value("${plm.audit.partitions-ahead:3}") int partitionsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.minioClient = minioClient;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.archiveBucket = archiveBucket;
+        this.retentionMonths = retentionMonths;
+        this.partitionsAhead = partitionsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensurePartitions();
+    }
+
+    @Scheduled(cron = "${plm.audit.retention.cron:0 30 2 * * *}")
+    public void run() {
+        ensurePartitions();
+        retireExpiredPartitions();
+    }
+
+    void ensurePartitions() {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i <= partitionsAhead; i++) {
+            jdbcTemplate.queryForObject("SELECT create_audit_log_partition(?)", String.class, month.plusMonths(i));
+        }
+    }
+
+    void retireExpiredPartitions() {
+        LocalDate oldestKept = LocalDate.now().withDayOfMonth(1).minusMonths(retentionMonths);
+        Map<String, Boolean> expired = new LinkedHashMap<>();
+        jdbcTemplate.query(LIST_PARTITIONS_SQL, (RowCallbackHandler) rs -> {
+            Matcher m = PARTITION_NAME.matcher(rs.getString("relname"));
+            if (m.matches() && LocalDate.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)), 1).isBefore(oldestKept)) {
+                expired.put(rs.getString("relname"), rs.getBoolean("relispartition"));
+            }
+        });
+        expired.forEach(this::retire);
+    }
+
+    private void retire(String partition, boolean attached) {
+        try {
+            if (attached) {
+                jdbcTemplate.execute("ALTER TABLE audit_log DETACH PARTITION \"" + partition + "\"");
+            }
+            long rows = archive(partition);
+            jdbcTemplate.execute("DROP TABLE \"" + partition + "\"");
+            log.info("Archived and dropped audit partition {} ({} rows)", partition, rows);
+        } catch (Exception e) {
+            log.error("Failed to retire audit partition {}, will retry on next run: {}", partition, e.getMessage());
+        }
+    }
+
+    /** Streams the partition into a gzipped CSV temp file and uploads it; returns the row count. */
+    private long archive(String partition) throws Exception {
+        Path file = Files.createTempFile(partition, ".csv.gz");
+        try {
+            long[] rows = {0};
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(file), 64 * 1024), StandardCharsets.UTF_8))) {
+                out.write(AuditLogCsv.HEADER);
+                // A read-only transaction lets the driver stream with a cursor instead of buffering the month
+                readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                    var ps = con.prepareStatement("SELECT id, username, action, entity_type, entity_id, details, created_at FROM \""
+                            + partition + "\" ORDER BY created_at, id");
+                    ps.setFetchSize(EXPORT_FETCH_SIZE);
+                    return ps;
+                }, (RowCallbackHandler) rs -> {
+                    Timestamp createdAt = rs.getTimestamp("created_at");
+                    writeRow(out, rs.getString("id"), rs.getString("username"), rs.getString("action"),
+                            rs.getString("entity_type"), rs.getString("entity_id"), rs.getString("details"),
+                            createdAt.toLocalDateTime().toString());
+                    rows[0]++;
+                }));
+            }
+            ensureBucketExists();
+            minioClient.uploadObject(UploadObjectArgs.builder()
+                    .bucket(archiveBucket)
+                    .object("audit-log/" + partition + ".csv.gz")
+                    .filename(file.toString())
+                    .contentType("application/gzip")
+                    .build());
+            return rows[0];
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void ensureBucketExists() throws Exception {
+        if (!minioClient.bucketExists(BucketExistsArgs.builder().bucket(archiveBucket).build())) {
+            minioClient.makeBucket(MakeBucketArgs.builder().bucket(archiveBucket).build());
+        }
+    }
+
+    private static void writeRow(Writer out, String... values) {
+        try {
+            AuditLogCsv.writeRow(out, values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
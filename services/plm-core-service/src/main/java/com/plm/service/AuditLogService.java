@@ -1,48 +1,180 @@
 package com.plm.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plm.dto.CursorPage;
 import com.plm.entity.AuditLog;
+import com.plm.exception.BadRequestException;
 import com.plm.repository.AuditLogRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Service
-@RequiredArgsConstructor
 public class AuditLogService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final ObjectMapper objectMapper;
+    private final Duration queryWindow;
+
+    public AuditLogService(AuditLogRepository auditLogRepository,
+                           AuditLogWriter auditLogWriter,
+                           ObjectMapper objectMapper,
+                           @Value("${plm.audit.query-window:30d}") Duration queryWindow) {
+        this.auditLogRepository = auditLogRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.objectMapper = objectMapper;
+        this.queryWindow = queryWindow;
+    }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    /**
+     * Hands the entry to {@link AuditLogWriter}. The user and timestamp are taken here, on the
+     * audited thread, since the write itself may happen later on the writer's thread.
+     */
     public void log(String action, String entityType, Long entityId, String details) {
-        String username = resolveUsername();
-        auditLogRepository.save(AuditLog.builder()
-                .username(username)
+        auditLogWriter.submit(AuditLog.builder()
+                .username(resolveUsername())
                 .action(action)
                 .entityType(entityType)
                 .entityId(entityId)
                 .details(details)
+                .createdAt(LocalDateTime.now())
                 .build());
     }
 
+    /** Entries in [from, to); {@code to} defaults to now and {@code from} to the query window before it. */
     @Transactional(readOnly = true)
-    public Page<AuditLog> getAll(int page, int size) {
-        return auditLogRepository.findAllByOrderByCreatedAtDesc(
+    public Page<AuditLog> getAll(LocalDateTime from, LocalDateTime to, int page, int size) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        return auditLogRepository.findInRange(from != null ? from : end.minus(queryWindow), end,
                 PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt")));
     }
 
     @Transactional(readOnly = true)
-    public Page<AuditLog> getByEntity(String entityType, Long entityId, int page, int size) {
-        return auditLogRepository.findByEntityTypeAndEntityId(entityType, entityId,
+    public Page<AuditLog> getByEntity(String entityType, Long entityId, LocalDateTime from, LocalDateTime to,
+                                      int page, int size) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        return auditLogRepository.findByEntityInRange(entityType, entityId,
+                from != null ? from : end.minus(queryWindow), end,
                 PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt")));
     }
 
+    /**
+     * Newest-first keyset listing with optional filters and no count query. The cursor
+     * encodes the (createdAt, id) of the last row returned; {@code to} is exclusive and
+     * only consulted for the first page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AuditLog> listPage(String cursor, int size, String username, String action, String entityType,
+                                         LocalDateTime from, LocalDateTime to) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minus(queryWindow);
+        LocalDateTime beforeCreatedAt = end;
+        long beforeId = Long.MIN_VALUE;
+        String[] key = decodeCursor(cursor);
+        if (key != null) {
+            if (key.length != 2) throw new BadRequestException("Invalid cursor");
+            beforeCreatedAt = parseCursorTime(key[0]);
+            beforeId = parseCursorId(key[1]);
+        }
+
+        List<AuditLog> entries = auditLogRepository.findPage(beforeCreatedAt, beforeId, start,
+                blankToNull(username), blankToNull(action), blankToNull(entityType), Limit.of(limit));
+        String next = null;
+        if (entries.size() == limit) {
+            AuditLog last = entries.get(entries.size() - 1);
+            next = encodeCursor(last.getCreatedAt() + "|" + last.getId());
+        }
+        return new CursorPage<>(entries, next);
+    }
+
+    /**
+     * Streams the filtered range oldest-first, as NDJSON or CSV, straight from a forward-only
+     * cursor. Defaults to the same window as the listings when {@code from}/{@code to} are omitted.
+     */
+    @Transactional(readOnly = true)
+    public void export(String format, String username, String action, String entityType,
+                       LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minus(queryWindow);
+        try (Stream<AuditLog> rows = auditLogRepository.streamForExport(start, end,
+                blankToNull(username), blankToNull(action), blankToNull(entityType))) {
+            Iterator<AuditLog> it = rows.iterator();
+            if ("csv".equals(format)) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+                writer.write(AuditLogCsv.HEADER);
+                while (it.hasNext()) {
+                    AuditLogCsv.write(writer, it.next());
+                }
+                writer.flush();
+            } else {
+                BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+                while (it.hasNext()) {
+                    buffered.write(objectMapper.writeValueAsBytes(it.next()));
+                    buffered.write('\n');
+                }
+                buffered.flush();
+            }
+        }
+    }
+
     private String resolveUsername() {
         var auth = SecurityContextHolder.getContext().getAuthentication();
         return (auth != null && auth.isAuthenticated()) ? auth.getName() : "system";
     }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private String encodeCursor(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private long parseCursorId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private LocalDateTime parseCursorTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
 }
@@ -0,0 +1,243 @@
+package com.plm.service;
+
+import com.plm.entity.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes audit entries off the request path. Callers only enqueue into a bounded queue; a
+ * single background thread drains it and inserts with one JDBC batch per round trip, so an
+ * audited write costs a queue offer instead of a second transaction.
+ *
+ * When the queue is full the overflow policy decides: CALLER_RUNS writes the entry on the
+ * calling thread (nothing is lost, callers feel the back-pressure), BLOCK waits up to
+ * {@code plm.audit.block-timeout} for space and then behaves like CALLER_RUNS, and DROP
+ * discards it. Mode {@code sync} skips the queue entirely, so every entry is written before
+ * the audited call returns; use it where losing the queued tail on a crash is unacceptable.
+ */
+@Service
+@Slf4j
+public class AuditLogWriter {
+
+    public enum Mode { ASYNC, SYNC }
+
+    public enum OverflowPolicy { CALLER_RUNS, BLOCK, DROP }
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_log (username, action, entity_type, entity_id, details, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final Duration MAX_RETRY_BACKOFF = Duration.ofSeconds(30);
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Mode mode;
+    private final OverflowPolicy overflowPolicy;
+    private final BlockingQueue<AuditLog> queue;
+    private final int batchSize;
+    private final Duration maxDelay;
+    private final Duration blockTimeout;
+    private final Counter written;
+    private final Counter callerRuns;
+    private final Counter dropped;
+    private final Counter failed;
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${plm.audit.mode:async}") Mode mode,
+                          @Value("${plm.audit.overflow-policy:caller-runs}") OverflowPolicy overflowPolicy,
+                          @Value("${plm.audit.queue-capacity:10000}") int queueCapacity,
+                          @Value("${plm.audit.batch-size:500}") int batchSize,
+                          @Value("${plm.audit.max-delay:200ms}") Duration maxDelay,
+                          @Value("${plm.audit.block-timeout:50ms}") Duration blockTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mode = mode;
+        this.overflowPolicy = overflowPolicy;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxDelay = maxDelay;
+        this.blockTimeout = blockTimeout;
+        Gauge.builder("audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit entries waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("audit.queue.capacity", queue, q -> q.size() + q.remainingCapacity())
+                .register(meterRegistry);
+        this.written = outcome(meterRegistry, "written");
+        this.callerRuns = outcome(meterRegistry, "caller-runs");
+        this.dropped = outcome(meterRegistry, "dropped");
+        this.failed = outcome(meterRegistry, "failed");
+    }
+
+    @PostConstruct
+    void start() {
+        if (mode != Mode.ASYNC) return;
+        running = true;
+        worker = new Thread(this::drainLoop, "audit-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /** Writes whatever is still queued, then stops the background thread. */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        try {
+            while (flush() > 0) {
+                // drain the remainder on the shutdown thread
+            }
+        } catch (RuntimeException e) {
+            log.error("Discarding {} audit entries that could not be written before shutdown: {}",
+                    queue.size(), e.getMessage());
+        }
+    }
+
+    public void submit(AuditLog entry) {
+        if (mode == Mode.SYNC) {
+            write(List.of(entry));
+            return;
+        }
+        if (queue.offer(entry)) return;
+        switch (overflowPolicy) {
+            case DROP -> dropped.increment();
+            case BLOCK -> {
+                if (!offerWithin(entry, blockTimeout)) runInCaller(entry);
+            }
+            case CALLER_RUNS -> runInCaller(entry);
+        }
+    }
+
+    /** Writes up to one batch from the queue; returns the number of entries written. */
+    int flush() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        queue.drainTo(batch, batchSize);
+        if (batch.isEmpty()) return 0;
+        write(batch);
+        return batch.size();
+    }
+
+    /**
+     * A batch that keeps failing is retried {@link #MAX_ATTEMPTS} times with backoff, then split
+     * in halves that are retried the same way, so one entry that can never be written (say, a
+     * constraint violation) ends up alone and is dropped without holding back the rest.
+     */
+    private void drainLoop() {
+        Deque<List<AuditLog>> pending = new ArrayDeque<>();
+        int attempts = 0;
+        Duration backoff = maxDelay;
+        while (running || !pending.isEmpty()) {
+            try {
+                if (pending.isEmpty()) {
+                    AuditLog first = queue.poll(maxDelay.toMillis(), TimeUnit.MILLISECONDS);
+                    if (first == null) continue;
+                    List<AuditLog> batch = new ArrayList<>(batchSize);
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    pending.add(batch);
+                }
+                write(pending.peek());
+                pending.poll();
+                attempts = 0;
+                backoff = maxDelay;
+            } catch (InterruptedException e) {
+                pending.forEach(this::requeue); // stop() writes the rest
+                return;
+            } catch (RuntimeException e) {
+                List<AuditLog> batch = pending.peek();
+                if (++attempts < MAX_ATTEMPTS) {
+                    log.warn("Audit batch of {} entries failed, retrying in {}: {}", batch.size(), backoff, e.getMessage());
+                    if (!sleep(backoff)) {
+                        pending.forEach(this::requeue);
+                        return;
+                    }
+                    backoff = backoff.multipliedBy(2).compareTo(MAX_RETRY_BACKOFF) > 0 ? MAX_RETRY_BACKOFF : backoff.multipliedBy(2);
+                    continue;
+                }
+                pending.poll();
+                attempts = 0;
+                backoff = maxDelay;
+                if (batch.size() > 1) {
+                    log.warn("Audit batch of {} entries failed {} times, splitting it: {}", batch.size(), MAX_ATTEMPTS, e.getMessage());
+                    pending.addFirst(batch.subList(batch.size() / 2, batch.size()));
+                    pending.addFirst(batch.subList(0, batch.size() / 2));
+                } else {
+                    AuditLog entry = batch.get(0);
+                    failed.increment();
+                    log.error("Dropping audit entry that failed {} times: {} {} {} {} ({}): {}", MAX_ATTEMPTS,
+                            entry.getUsername(), entry.getAction(), entry.getEntityType(), entry.getEntityId(),
+                            entry.getCreatedAt(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void write(List<AuditLog> entries) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, batchSize, (ps, entry) -> {
+            ps.setString(1, entry.getUsername());
+            ps.setString(2, entry.getAction());
+            ps.setString(3, entry.getEntityType());
+            if (entry.getEntityId() != null) ps.setLong(4, entry.getEntityId());
+            else ps.setNull(4, Types.BIGINT);
+            ps.setString(5, entry.getDetails());
+            ps.setTimestamp(6, Timestamp.valueOf(entry.getCreatedAt()));
+        });
+        written.increment(entries.size());
+    }
+
+    private void requeue(List<AuditLog> batch) {
+        for (AuditLog entry : batch) {
+            if (!queue.offer(entry)) dropped.increment();
+        }
+    }
+
+    private void runInCaller(AuditLog entry) {
+        callerRuns.increment();
+        write(List.of(entry));
+    }
+
+    private boolean offerWithin(AuditLog entry, Duration timeout) {
+        try {
+            return queue.offer(entry, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+
+    private static Counter outcome(MeterRegistry registry, String outcome) {
+        return Counter.builder("audit.entries")
+                .description("Audit entries by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
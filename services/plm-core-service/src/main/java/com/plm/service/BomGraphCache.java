@@ -0,0 +1,110 @@
+package com.plm.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.plm.config.KafkaConfig;
+import com.plm.dto.BomChangeMessage;
+import com.plm.repository.BomLinkRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * In-process BOM adjacency cache: revision id to the ids of its direct children and
+ * direct parents, held as primitive {@code long[]} rather than JPA entities.
+ *
+ * Entries are invalidated precisely after a BOM link change commits, and the change is
+ * broadcast on plm.bom-events so other replicas drop the same two entries. Every replica
+ * consumes that topic under its own group id; the TTL is only a safety net for changes
+ * that bypass {@link BomService} (e.g. cascading item deletes).
+ */
+@Service
+@Slf4j
+public class BomGraphCache {
+
+    private final BomLinkRepository bomLinkRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final Cache<Long, long[]> children;
+    private final Cache<Long, long[]> parents;
+
+    public BomGraphCache(BomLinkRepository bomLinkRepository,
+                         KafkaTemplate<String, Object> kafkaTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${plm.bom-cache.max-entries:200000}") long maxEntries,
+                         @Value("${plm.bom-cache.ttl:10m}") Duration ttl) {
+        this.bomLinkRepository = bomLinkRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.children = build(maxEntries, ttl);
+        this.parents = build(maxEntries, ttl);
+        CaffeineCacheMetrics.monitor(meterRegistry, children, "bom.children");
+        CaffeineCacheMetrics.monitor(meterRegistry, parents, "bom.parents");
+    }
+
+    public long[] children(long revisionId) {
+        return children.get(revisionId, id -> toArray(bomLinkRepository.findChildIds(id)));
+    }
+
+    public long[] parents(long revisionId) {
+        return parents.get(revisionId, id -> toArray(bomLinkRepository.findParentIds(id)));
+    }
+
+    /** Every revision that transitively uses {@code revisionId}; cycle-safe. */
+    public Set<Long> ancestors(long revisionId) {
+        Set<Long> seen = new HashSet<>();
+        Deque<Long> stack = new ArrayDeque<>();
+        stack.push(revisionId);
+        while (!stack.isEmpty()) {
+            for (long parent : parents(stack.pop())) {
+                if (seen.add(parent)) stack.push(parent);
+            }
+        }
+        seen.remove(revisionId);
+        return seen;
+    }
+
+    public void invalidate(long parentRevisionId, long childRevisionId) {
+        children.invalidate(parentRevisionId);
+        parents.invalidate(childRevisionId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLocalChange(BomChangeMessage change) {
+        invalidate(change.parentRevisionId(), change.childRevisionId());
+        kafkaTemplate.send(KafkaConfig.BOM_EVENTS_TOPIC, String.valueOf(change.parentRevisionId()), change);
+    }
+
+    @KafkaListener(topics = KafkaConfig.BOM_EVENTS_TOPIC,
+                   groupId = "plm-core-bom-cache-#{T(java.util.UUID).randomUUID()}",
+                   properties = "auto.offset.reset=latest")
+    public void onRemoteChange(BomChangeMessage change) {
+        invalidate(change.parentRevisionId(), change.childRevisionId());
+        log.debug("Invalidated BOM cache for link {} -> {}", change.parentRevisionId(), change.childRevisionId());
+    }
+
+    private static Cache<Long, long[]> build(long maxEntries, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    private static long[] toArray(List<Long> ids) {
+        long[] result = new long[ids.size()];
+        for (int i = 0; i < result.length; i++) result[i] = ids.get(i);
+        return result;
+    }
+}
@@ -0,0 +1,218 @@
+package com.plm.service;
+
+import com.plm.dto.BomChangeMessage;
+import com.plm.dto.BomImportResponse;
+import com.plm.dto.BomImportRow;
+import com.plm.dto.BomImportRowResult;
+import com.plm.dto.BomImportRowResult.Status;
+import com.plm.entity.Revision;
+import com.plm.exception.BadRequestException;
+import com.plm.repository.BomEdge;
+import com.plm.repository.BomLinkRepository;
+import com.plm.repository.RevisionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Bulk BOM link import. A whole import is validated with a handful of set-based queries
+ * (lock + existence, reachable structure) and the accepted rows are written with one JDBC
+ * batch, all in a single transaction. Rows are accepted or rejected individually; the
+ * response reports the outcome of every row in request order.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BomImportService {
+
+    public static final int MAX_IMPORT_ROWS = 10_000;
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int LOCK_CHUNK_SIZE = 1000;
+    private static final String INSERT_SQL =
+            "INSERT INTO bom_links (parent_revision_id, child_revision_id, quantity, updated_at) VALUES (?, ?, ?, ?)";
+
+    private final BomLinkRepository bomLinkRepository;
+    private final RevisionRepository revisionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public BomImportResponse importLinks(List<BomImportRow> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new BadRequestException("Import contains no rows");
+        }
+        if (rows.size() > MAX_IMPORT_ROWS) {
+            throw new BadRequestException("Import exceeds " + MAX_IMPORT_ROWS + " rows");
+        }
+
+        Set<Long> endpoints = new HashSet<>();
+        for (BomImportRow row : rows) {
+            if (row.getParentRevisionId() != null) endpoints.add(row.getParentRevisionId());
+            if (row.getChildRevisionId() != null) endpoints.add(row.getChildRevisionId());
+        }
+        Set<Long> existing = lockForImport(endpoints);
+
+        // Existing structure below every endpoint: covers both duplicate links and cycle paths
+        Map<Long, Set<Long>> graph = new HashMap<>();
+        if (!existing.isEmpty()) {
+            for (BomEdge edge : bomLinkRepository.findEdgesBelow(existing)) {
+                graph.computeIfAbsent(edge.getParentRevisionId(), k -> new HashSet<>()).add(edge.getChildRevisionId());
+            }
+        }
+
+        List<BomImportRowResult> results = new ArrayList<>(rows.size());
+        List<BomImportRow> accepted = new ArrayList<>();
+        Set<List<Long>> seen = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            BomImportRow row = rows.get(i);
+            BomImportRowResult result = validate(row, existing, seen, graph);
+            result.setRow(i + 1);
+            if (result.getStatus() == Status.CREATED) {
+                graph.computeIfAbsent(row.getParentRevisionId(), k -> new HashSet<>()).add(row.getChildRevisionId());
+                accepted.add(row);
+            }
+            results.add(result);
+        }
+
+        if (!accepted.isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(INSERT_SQL, accepted, BATCH_SIZE, (ps, row) -> {
+                ps.setLong(1, row.getParentRevisionId());
+                ps.setLong(2, row.getChildRevisionId());
+                ps.setBigDecimal(3, row.getQuantity());
+                ps.setTimestamp(4, now);
+            });
+            accepted.forEach(row -> eventPublisher.publishEvent(
+                    new BomChangeMessage(row.getParentRevisionId(), row.getChildRevisionId())));
+        }
+        log.info("BOM import: {} rows, {} created", rows.size(), accepted.size());
+
+        BomImportResponse response = new BomImportResponse();
+        response.setCreated(accepted.size());
+        response.setRejected(rows.size() - accepted.size());
+        response.setRows(results);
+        return response;
+    }
+
+    /**
+     * Parses {@code parentRevisionId,childRevisionId[,quantity]} lines. Blank lines are
+     * skipped, as is a first line that does not start with a number (a header).
+     */
+    public List<BomImportRow> parseCsv(String csv) {
+        List<BomImportRow> rows = new ArrayList<>();
+        String[] lines = csv == null ? new String[0] : csv.split("\\r?\\n");
+        boolean first = true;
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].strip();
+            if (line.isEmpty()) continue;
+            String[] fields = line.split(",", -1);
+            boolean header = first && !fields[0].strip().matches("\\d+");
+            first = false;
+            if (header) continue;
+            if (fields.length < 2 || fields.length > 3) {
+                throw new BadRequestException("Line " + (i + 1) + ": expected parentRevisionId,childRevisionId[,quantity]");
+            }
+            try {
+                BigDecimal quantity = fields.length == 3 && !fields[2].isBlank()
+                        ? new BigDecimal(fields[2].strip()) : BigDecimal.ONE;
+                rows.add(new BomImportRow(Long.valueOf(fields[0].strip()), Long.valueOf(fields[1].strip()), quantity));
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Line " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        return rows;
+    }
+
+    private BomImportRowResult validate(BomImportRow row, Set<Long> existing, Set<List<Long>> seen,
+                                        Map<Long, Set<Long>> graph) {
+        Long parentId = row.getParentRevisionId();
+        Long childId = row.getChildRevisionId();
+        if (row.getQuantity() == null) row.setQuantity(BigDecimal.ONE);
+
+        if (parentId == null || childId == null) {
+            return result(row, Status.INVALID, "parentRevisionId and childRevisionId are required");
+        }
+        if (parentId.equals(childId)) {
+            return result(row, Status.INVALID, "A revision cannot be its own BOM child");
+        }
+        if (!isValidQuantity(row.getQuantity())) {
+            return result(row, Status.INVALID, "Quantity must be positive with at most 6 integer and 4 decimal digits");
+        }
+        if (!existing.contains(parentId)) {
+            return result(row, Status.NOT_FOUND, "Revision not found: " + parentId);
+        }
+        if (!existing.contains(childId)) {
+            return result(row, Status.NOT_FOUND, "Revision not found: " + childId);
+        }
+        if (!seen.add(List.of(parentId, childId))) {
+            return result(row, Status.DUPLICATE, "Link appears earlier in this import");
+        }
+        if (graph.getOrDefault(parentId, Set.of()).contains(childId)) {
+            return result(row, Status.EXISTS, "BOM link already exists");
+        }
+        if (isReachable(graph, childId, parentId)) {
+            return result(row, Status.CYCLE, "Adding this BOM link would create a cycle");
+        }
+        return result(row, Status.CREATED, null);
+    }
+
+    /**
+     * Locks every endpoint and all of their ancestors in id order, so that
+     * concurrent imports and {@link BomService#addChild} cannot race past the cycle check.
+     * Returns the endpoints that exist.
+     */
+    private Set<Long> lockForImport(Set<Long> endpoints) {
+        if (endpoints.isEmpty()) return Set.of();
+        List<Long> ids = new ArrayList<>(new TreeSet<>(endpoints));
+        Set<Long> withAncestors = new TreeSet<>(ids);
+        withAncestors.addAll(bomLinkRepository.findAncestorIds(ids));
+        List<Long> ordered = new ArrayList<>(withAncestors);
+
+        Set<Long> found = new HashSet<>();
+        for (int from = 0; from < ordered.size(); from += LOCK_CHUNK_SIZE) {
+            List<Long> chunk = ordered.subList(from, Math.min(from + LOCK_CHUNK_SIZE, ordered.size()));
+            for (Revision revision : revisionRepository.lockAllById(chunk)) found.add(revision.getId());
+        }
+        found.retainAll(endpoints);
+        return found;
+    }
+
+    private static boolean isReachable(Map<Long, Set<Long>> graph, Long from, Long target) {
+        Set<Long> visited = new HashSet<>();
+        Deque<Long> stack = new ArrayDeque<>();
+        stack.push(from);
+        while (!stack.isEmpty()) {
+            Long current = stack.pop();
+            if (current.equals(target)) return true;
+            if (!visited.add(current)) continue;
+            for (Long child : graph.getOrDefault(current, Set.of())) stack.push(child);
+        }
+        return false;
+    }
+
+    /** bom_links.quantity is NUMERIC(10, 4). */
+    private static boolean isValidQuantity(BigDecimal quantity) {
+        if (quantity.signum() <= 0) return false;
+        BigDecimal q = quantity.stripTrailingZeros();
+        return q.scale() <= 4 && q.precision() - q.scale() <= 6;
+    }
+
+    private static BomImportRowResult result(BomImportRow row, Status status, String message) {
+        BomImportRowResult result = new BomImportRowResult();
+        result.setParentRevisionId(row.getParentRevisionId());
+        result.setChildRevisionId(row.getChildRevisionId());
+        result.setQuantity(row.getQuantity());
+        result.setStatus(status);
+        result.setMessage(message);
+        return result;
+    }
+}
@@ -1,26 +1,62 @@
 package com.plm.service;
 
+import com.plm.dto.BomChangeMessage;
+import com.plm.dto.BomDiffLineResponse;
 import com.plm.dto.BomLinkRequest;
 import com.plm.dto.BomLinkResponse;
+import com.plm.dto.BomSummaryLineResponse;
+import com.plm.dto.BomTreeNodeResponse;
+import com.plm.dto.WhereUsedCountResponse;
+import com.plm.dto.WhereUsedNodeResponse;
 import com.plm.entity.BomLink;
 import com.plm.entity.Revision;
 import com.plm.exception.BadRequestException;
 import com.plm.exception.ConflictException;
 import com.plm.exception.ResourceNotFoundException;
+import com.plm.repository.BomDiffRow;
+import com.plm.repository.BomEdge;
 import com.plm.repository.BomLinkRepository;
+import com.plm.repository.BomStructureRow;
+import com.plm.repository.BomTreeRow;
 import com.plm.repository.RevisionRepository;
+import com.plm.repository.VersionWatermark;
+import com.plm.repository.WhereUsedCount;
+import com.plm.repository.WhereUsedRow;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BomService {
 
+    public static final int MAX_BOM_DEPTH = 50;
+
     private final BomLinkRepository bomLinkRepository;
     private final RevisionRepository revisionRepository;
+    private final BomGraphCache bomGraphCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public VersionWatermark childrenWatermark(Long parentRevisionId) {
+        return bomLinkRepository.watermarkOfChildren(parentRevisionId);
+    }
+
+    @Transactional(readOnly = true)
+    public VersionWatermark parentsWatermark(Long childRevisionId) {
+        return bomLinkRepository.watermarkOfParents(childRevisionId);
+    }
+
+    /** Version of the whole product structure, for multi-level views (tree, summary, where-used, diff). */
+    @Transactional(readOnly = true)
+    public VersionWatermark structureWatermark() {
+        return bomLinkRepository.watermarkOfStructure();
+    }
 
     @Transactional(readOnly = true)
     public List<BomLinkResponse> getChildren(Long parentRevisionId) {
@@ -36,22 +72,138 @@ public class BomService {
                 .stream().map(this::toResponse).toList();
     }
 
+    /**
+     * Full multi-level explosion of {@code rootRevisionId} as an indented list
+     * (depth-first, with level, path and extended quantity), computed in a single query.
+     */
+    @Transactional(readOnly = true)
+    public List<BomTreeNodeResponse> explode(Long rootRevisionId, Integer depth) {
+        ensureRevisionExists(rootRevisionId);
+        int maxDepth = depth == null ? MAX_BOM_DEPTH : Math.max(1, Math.min(depth, MAX_BOM_DEPTH));
+        return bomLinkRepository.explode(rootRevisionId, maxDepth)
+                .stream().map(this::toTreeNode).toList();
+    }
+
+    /**
+     * Flattened (summarized) BOM: the total quantity of every revision under the root, i.e.
+     * the sum over all paths of the product of link quantities, in exact decimal arithmetic.
+     * Totals are pushed down the structure in topological order, so each distinct edge is
+     * visited once no matter how often a sub-assembly is reused.
+     */
+    @Transactional(readOnly = true)
+    public List<BomSummaryLineResponse> summarize(Long rootRevisionId, boolean leavesOnly) {
+        ensureRevisionExists(rootRevisionId);
+        List<BomStructureRow> edges = bomLinkRepository.findStructure(rootRevisionId);
+
+        Map<Long, List<BomStructureRow>> childrenOf = new HashMap<>();
+        Map<Long, Integer> pendingParents = new HashMap<>();
+        Map<Long, BomStructureRow> describedBy = new LinkedHashMap<>();
+        for (BomStructureRow edge : edges) {
+            childrenOf.computeIfAbsent(edge.getParentRevisionId(), k -> new ArrayList<>()).add(edge);
+            pendingParents.merge(edge.getChildRevisionId(), 1, Integer::sum);
+            describedBy.putIfAbsent(edge.getChildRevisionId(), edge);
+        }
+
+        Map<Long, BigDecimal> totals = new HashMap<>();
+        totals.put(rootRevisionId, BigDecimal.ONE);
+        Deque<Long> ready = new ArrayDeque<>(List.of(rootRevisionId));
+        int resolved = 0;
+        while (!ready.isEmpty()) {
+            Long current = ready.poll();
+            BigDecimal currentTotal = totals.get(current);
+            for (BomStructureRow edge : childrenOf.getOrDefault(current, List.of())) {
+                Long childId = edge.getChildRevisionId();
+                totals.merge(childId, currentTotal.multiply(edge.getQuantity()), BigDecimal::add);
+                if (pendingParents.merge(childId, -1, Integer::sum) == 0) {
+                    ready.add(childId);
+                    resolved++;
+                }
+            }
+        }
+        if (resolved < describedBy.size()) {
+            throw new BadRequestException("BOM under revision " + rootRevisionId + " contains a cycle");
+        }
+
+        return describedBy.values().stream()
+                .filter(row -> !leavesOnly || !childrenOf.containsKey(row.getChildRevisionId()))
+                .map(row -> toSummaryLine(row, totals.get(row.getChildRevisionId()),
+                        !childrenOf.containsKey(row.getChildRevisionId())))
+                .sorted(Comparator.comparing(BomSummaryLineResponse::getChildItemNumber)
+                        .thenComparing(BomSummaryLineResponse::getChildRevisionCode))
+                .toList();
+    }
+
+    /**
+     * Compares the BOM of {@code revisionA} against {@code revisionB}, matching lines by
+     * child item so a revision swap shows as REVISION_CHANGED rather than a remove/add pair.
+     * With {@code multiLevel} every level is compared, matching lines by (parent item, child item).
+     */
+    @Transactional(readOnly = true)
+    public List<BomDiffLineResponse> diff(Long revisionA, Long revisionB, boolean multiLevel, boolean includeUnchanged) {
+        ensureRevisionExists(revisionA);
+        ensureRevisionExists(revisionB);
+        return bomLinkRepository.diff(revisionA, revisionB, multiLevel, includeUnchanged)
+                .stream().map(this::toDiffLine).toList();
+    }
+
+    /**
+     * Multi-level where-used: every ancestor path above {@code revisionId}, or only the
+     * paths ending at top-level end items when {@code topLevelOnly} is set.
+     */
+    @Transactional(readOnly = true)
+    public List<WhereUsedNodeResponse> whereUsed(Long revisionId, Integer depth, boolean topLevelOnly) {
+        ensureRevisionExists(revisionId);
+        int maxDepth = depth == null ? MAX_BOM_DEPTH : Math.max(1, Math.min(depth, MAX_BOM_DEPTH));
+        return bomLinkRepository.whereUsed(revisionId, maxDepth).stream()
+                .filter(row -> !topLevelOnly || Boolean.TRUE.equals(row.getTopLevel()))
+                .map(this::toWhereUsedNode)
+                .toList();
+    }
+
+    /** Single-revision impact count, answered from the in-memory BOM graph. */
+    @Transactional(readOnly = true)
+    public WhereUsedCountResponse countWhereUsed(Long revisionId) {
+        ensureRevisionExists(revisionId);
+        Set<Long> ancestors = bomGraphCache.ancestors(revisionId);
+        long endItems = ancestors.stream().filter(id -> bomGraphCache.parents(id).length == 0).count();
+        return new WhereUsedCountResponse(ancestors.size(), endItems);
+    }
+
+    /** Distinct assemblies (and end items) that transitively consume any of the given revisions. */
+    @Transactional(readOnly = true)
+    public WhereUsedCountResponse countWhereUsed(Collection<Long> revisionIds) {
+        if (revisionIds.isEmpty()) return new WhereUsedCountResponse(0, 0);
+        WhereUsedCount count = bomLinkRepository.countWhereUsed(revisionIds);
+        return new WhereUsedCountResponse(count.getAssemblies(), count.getEndItems());
+    }
+
     @Transactional
     public BomLinkResponse addChild(Long parentRevisionId, BomLinkRequest request) {
-        if (parentRevisionId.equals(request.getChildRevisionId())) {
+        Long childRevisionId = request.getChildRevisionId();
+        if (parentRevisionId.equals(childRevisionId)) {
             throw new BadRequestException("A revision cannot be its own BOM child");
         }
         Revision parent = findRevision(parentRevisionId);
-        Revision child = findRevision(request.getChildRevisionId());
-        if (bomLinkRepository.existsByParentRevisionIdAndChildRevisionId(parentRevisionId, request.getChildRevisionId())) {
+        Revision child = findRevision(childRevisionId);
+        lockForStructureChange(parentRevisionId, childRevisionId);
+        if (bomLinkRepository.existsByParentRevisionIdAndChildRevisionId(parentRevisionId, childRevisionId)) {
             throw new ConflictException("BOM link already exists");
         }
+        List<Long> path = findPath(childRevisionId, parentRevisionId);
+        if (path != null) {
+            List<Long> cycle = new ArrayList<>();
+            cycle.add(parentRevisionId);
+            cycle.addAll(path);
+            throw new BadRequestException("Adding this BOM link would create a cycle: " + describePath(cycle));
+        }
         BomLink link = BomLink.builder()
                 .parentRevision(parent)
                 .childRevision(child)
                 .quantity(request.getQuantity())
                 .build();
-        return toResponse(bomLinkRepository.save(link));
+        BomLinkResponse response = toResponse(bomLinkRepository.save(link));
+        eventPublisher.publishEvent(new BomChangeMessage(parentRevisionId, childRevisionId));
+        return response;
     }
 
     @Transactional
@@ -60,6 +212,55 @@ public class BomService {
             throw new ResourceNotFoundException("BOM link not found");
         }
         bomLinkRepository.deleteByParentRevisionIdAndChildRevisionId(parentRevisionId, childRevisionId);
+        eventPublisher.publishEvent(new BomChangeMessage(parentRevisionId, childRevisionId));
+    }
+
+    /**
+     * Locks the parent, the child and every ancestor of the parent. Any concurrent insert
+     * that could close a cycle together with this one touches at least one of these rows,
+     * so the two are serialised and the later one sees the earlier link in its check.
+     */
+    private void lockForStructureChange(Long parentRevisionId, Long childRevisionId) {
+        Set<Long> ids = new TreeSet<>(bomLinkRepository.findAncestorIds(List.of(parentRevisionId)));
+        ids.add(parentRevisionId);
+        ids.add(childRevisionId);
+        revisionRepository.lockAllById(ids);
+    }
+
+    /**
+     * Breadth-first search down the BOM from {@code from}, one query per level, returning the
+     * shortest revision-id path to {@code target} or null. The visited set keeps it linear in
+     * the size of the reachable sub-structure and safe on cyclic legacy data.
+     */
+    private List<Long> findPath(Long from, Long target) {
+        Map<Long, Long> cameFrom = new HashMap<>();
+        cameFrom.put(from, null);
+        List<Long> frontier = List.of(from);
+        while (!frontier.isEmpty()) {
+            List<Long> next = new ArrayList<>();
+            for (BomEdge edge : bomLinkRepository.findEdgesFrom(frontier)) {
+                Long childId = edge.getChildRevisionId();
+                if (cameFrom.containsKey(childId)) continue;
+                cameFrom.put(childId, edge.getParentRevisionId());
+                if (childId.equals(target)) {
+                    LinkedList<Long> path = new LinkedList<>();
+                    for (Long at = childId; at != null; at = cameFrom.get(at)) path.addFirst(at);
+                    return path;
+                }
+                next.add(childId);
+            }
+            frontier = next;
+        }
+        return null;
+    }
+
+    private String describePath(List<Long> revisionIds) {
+        Map<Long, String> labels = revisionRepository.findAllById(new HashSet<>(revisionIds)).stream()
+                .collect(Collectors.toMap(Revision::getId,
+                        r -> r.getItem().getItemNumber() + "/" + r.getRevisionCode()));
+        return revisionIds.stream()
+                .map(id -> labels.getOrDefault(id, String.valueOf(id)))
+                .collect(Collectors.joining(" -> "));
     }
 
     private Revision findRevision(Long id) {
@@ -81,6 +282,67 @@ public class BomService {
         resp.setChildItemNumber(link.getChildRevision().getItem().getItemNumber());
         resp.setChildRevisionCode(link.getChildRevision().getRevisionCode());
         resp.setQuantity(link.getQuantity());
+        resp.setUpdatedAt(link.getUpdatedAt());
         return resp;
     }
+
+    private BomTreeNodeResponse toTreeNode(BomTreeRow row) {
+        BomTreeNodeResponse node = new BomTreeNodeResponse();
+        node.setLinkId(row.getLinkId());
+        node.setParentRevisionId(row.getParentRevisionId());
+        node.setChildRevisionId(row.getChildRevisionId());
+        node.setChildItemId(row.getChildItemId());
+        node.setChildItemNumber(row.getChildItemNumber());
+        node.setChildItemName(row.getChildItemName());
+        node.setChildRevisionCode(row.getChildRevisionCode());
+        node.setQuantity(row.getQuantity());
+        node.setExtendedQuantity(row.getExtendedQuantity().stripTrailingZeros());
+        node.setLevel(row.getLevel());
+        node.setPath(row.getPath());
+        return node;
+    }
+
+    private WhereUsedNodeResponse toWhereUsedNode(WhereUsedRow row) {
+        WhereUsedNodeResponse node = new WhereUsedNodeResponse();
+        node.setParentRevisionId(row.getParentRevisionId());
+        node.setChildRevisionId(row.getChildRevisionId());
+        node.setParentItemId(row.getParentItemId());
+        node.setParentItemNumber(row.getParentItemNumber());
+        node.setParentItemName(row.getParentItemName());
+        node.setParentRevisionCode(row.getParentRevisionCode());
+        node.setQuantity(row.getQuantity());
+        node.setLevel(row.getLevel());
+        node.setPath(row.getPath());
+        node.setTopLevel(Boolean.TRUE.equals(row.getTopLevel()));
+        return node;
+    }
+
+    private BomSummaryLineResponse toSummaryLine(BomStructureRow row, BigDecimal total, boolean leaf) {
+        BomSummaryLineResponse line = new BomSummaryLineResponse();
+        line.setChildRevisionId(row.getChildRevisionId());
+        line.setChildItemId(row.getChildItemId());
+        line.setChildItemNumber(row.getChildItemNumber());
+        line.setChildItemName(row.getChildItemName());
+        line.setChildRevisionCode(row.getChildRevisionCode());
+        line.setTotalQuantity(total.stripTrailingZeros());
+        line.setLeaf(leaf);
+        return line;
+    }
+
+    private BomDiffLineResponse toDiffLine(BomDiffRow row) {
+        BomDiffLineResponse line = new BomDiffLineResponse();
+        line.setParentItemId(row.getParentItemId());
+        line.setParentItemNumber(row.getParentItemNumber());
+        line.setChildItemId(row.getChildItemId());
+        line.setChildItemNumber(row.getChildItemNumber());
+        line.setChildItemName(row.getChildItemName());
+        line.setRevisionIdA(row.getRevisionIdA());
+        line.setRevisionCodeA(row.getRevisionCodeA());
+        line.setQuantityA(row.getQuantityA());
+        line.setRevisionIdB(row.getRevisionIdB());
+        line.setRevisionCodeB(row.getRevisionCodeB());
+        line.setQuantityB(row.getQuantityB());
+        line.setChange(BomDiffLineResponse.Change.valueOf(row.getChange()));
+        return line;
+    }
 }
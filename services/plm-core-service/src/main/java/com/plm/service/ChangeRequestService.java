@@ -2,11 +2,13 @@ package com.plm.service;
 
 import com.plm.dto.ChangeRequestRequest;
 import com.plm.dto.ChangeRequestResponse;
+import com.plm.dto.WhereUsedCountResponse;
 import com.plm.entity.ChangeRequest;
 import com.plm.entity.ChangeRequestStatus;
 import com.plm.exception.BadRequestException;
 import com.plm.exception.ResourceNotFoundException;
 import com.plm.repository.ChangeRequestRepository;
+import com.plm.repository.RevisionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -20,6 +22,8 @@ import java.util.List;
 public class ChangeRequestService {
 
     private final ChangeRequestRepository changeRequestRepository;
+    private final RevisionRepository revisionRepository;
+    private final BomService bomService;
 
     @Transactional(readOnly = true)
     public List<ChangeRequestResponse> getAll() {
@@ -31,6 +35,14 @@ public class ChangeRequestService {
         return toResponse(findById(id));
     }
 
+    /** Impact check: how many assemblies transitively use any revision of the linked item. */
+    @Transactional(readOnly = true)
+    public WhereUsedCountResponse getImpact(Long id) {
+        ChangeRequest cr = findById(id);
+        if (cr.getLinkedItemId() == null) return new WhereUsedCountResponse(0, 0);
+        return bomService.countWhereUsed(revisionRepository.findIdsByItemId(cr.getLinkedItemId()));
+    }
+
     @Transactional
     public ChangeRequestResponse create(ChangeRequestRequest request) {
         ChangeRequest cr = ChangeRequest.builder()
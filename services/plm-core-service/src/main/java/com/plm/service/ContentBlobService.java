@@ -0,0 +1,188 @@
+package com.plm.service;
+
+import com.plm.entity.ContentBlob;
+import com.plm.entity.Document;
+import com.plm.repository.ContentBlobRepository;
+import io.minio.CopyObjectArgs;
+import io.minio.CopySource;
+import io.minio.MinioClient;
+import io.minio.RemoveObjectArgs;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reference-counted, content-addressed raw files. An upload is staged under a unique name
+ * while it streams and is hashed; {@link #store} then either adds a reference to the existing
+ * object with that SHA-256 (dropping the staged copy) or moves it to {@code sha256/xx/<hash>/}.
+ * The GLB converted from a blob belongs to the blob too, so identical files are converted once.
+ *
+ * Objects a transaction stops referencing, the staged upload included, are removed only
+ * after it commits, so a registration that rolls back can be retried from the staged
+ * object; a blob object created by a transaction that rolls back is removed again. Each blob incarnation
+ * gets its own key under the hash, so removing a released blob's object after commit can
+ * never hit the object of a blob re-created for the same content in the meantime.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContentBlobService {
+
+    private final ContentBlobRepository contentBlobRepository;
+    private final MinioClient minioClient;
+
+    /** Takes a reference on the blob for {@code sha256}, creating it from the staged object if new. */
+    @Transactional
+    public ContentBlob store(String bucket, String stagedObject, String sha256, long size) {
+        Optional<ContentBlob> existing = contentBlobRepository.findByIdForUpdate(sha256);
+        if (existing.isPresent()) {
+            ContentBlob blob = existing.get();
+            blob.setRefCount(blob.getRefCount() + 1);
+            removeAfterCommit(bucket + "/" + stagedObject);
+            log.info("Deduplicated upload {} onto blob {} ({} references)", stagedObject, sha256, blob.getRefCount());
+            return contentBlobRepository.save(blob);
+        }
+
+        String object = objectName(sha256);
+        String path = bucket + "/" + object;
+        try {
+            minioClient.copyObject(CopyObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(object)
+                    .source(CopySource.builder().bucket(bucket).object(stagedObject).build())
+                    .build());
+        } catch (Exception e) {
+            log.error("Failed to move upload {} to {}", stagedObject, object, e);
+            throw new RuntimeException("File upload failed: " + e.getMessage(), e);
+        }
+        removeOnRollback(path);
+        // a concurrent upload of the same content may have created the row since the lookup;
+        // then this only counts a reference and the copy just made is not needed
+        contentBlobRepository.insertOrReference(sha256, path, size);
+        removeAfterCommit(bucket + "/" + stagedObject);
+        ContentBlob blob = contentBlobRepository.findById(sha256).orElseThrow();
+        if (!blob.getObjectPath().equals(path)) {
+            removeObject(path);
+        }
+        return blob;
+    }
+
+    /**
+     * Drops the document's reference to its blob, removing the raw object and its GLB with
+     * the last one. Returns false when the document is not blob-backed (uploaded before
+     * deduplication) and owns its objects itself.
+     */
+    @Transactional
+    public boolean release(Document document) {
+        Optional<ContentBlob> backing = lockBacking(document);
+        if (backing.isEmpty()) return false;
+
+        ContentBlob blob = backing.get();
+        if (document.getGltfPath() != null && !document.getGltfPath().equals(blob.getGltfPath())) {
+            removeAfterCommit(document.getGltfPath());
+        }
+        if (blob.getRefCount() > 1) {
+            blob.setRefCount(blob.getRefCount() - 1);
+            contentBlobRepository.save(blob);
+            return true;
+        }
+        contentBlobRepository.delete(blob);
+        removeAfterCommit(blob.getObjectPath());
+        if (blob.getGltfPath() != null) {
+            removeAfterCommit(blob.getGltfPath());
+        }
+        log.info("Released last reference to blob {}", blob.getSha256());
+        return true;
+    }
+
+    /** The GLB already converted from the document's blob, if any. */
+    @Transactional(readOnly = true)
+    public Optional<String> convertedPath(Document document) {
+        if (document.getContentSha256() == null) return Optional.empty();
+        return contentBlobRepository.findById(document.getContentSha256())
+                .filter(blob -> blob.getObjectPath().equals(document.getFilePath()))
+                .map(ContentBlob::getGltfPath);
+    }
+
+    /**
+     * Records a finished conversion on the document's blob and returns the GLB path the
+     * document should use. If another document of the same blob finished first, its GLB wins
+     * and the duplicate just written is removed.
+     */
+    @Transactional
+    public String recordConversion(Document document, String gltfPath) {
+        Optional<ContentBlob> backing = lockBacking(document);
+        if (backing.isEmpty()) return gltfPath;
+
+        ContentBlob blob = backing.get();
+        if (blob.getGltfPath() == null) {
+            blob.setGltfPath(gltfPath);
+            contentBlobRepository.save(blob);
+            return gltfPath;
+        }
+        if (!blob.getGltfPath().equals(gltfPath)) {
+            removeObject(gltfPath);
+        }
+        return blob.getGltfPath();
+    }
+
+    /**
+     * Removes {@code fullPath} once the current transaction commits (immediately if there is
+     * none), so a rolled-back delete still finds its objects. Also used for objects that
+     * documents own directly.
+     */
+    public void removeAfterCommit(String fullPath) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeObject(fullPath);
+                }
+            });
+        } else {
+            removeObject(fullPath);
+        }
+    }
+
+    static String objectName(String sha256) {
+        return "sha256/" + sha256.substring(0, 2) + "/" + sha256 + "/" + UUID.randomUUID();
+    }
+
+    private void removeOnRollback(String fullPath) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    removeObject(fullPath);
+                }
+            }
+        });
+    }
+
+    private Optional<ContentBlob> lockBacking(Document document) {
+        if (document.getContentSha256() == null) return Optional.empty();
+        return contentBlobRepository.findByIdForUpdate(document.getContentSha256())
+                .filter(blob -> blob.getObjectPath().equals(document.getFilePath()));
+    }
+
+    private void removeObject(String fullPath) {
+        try {
+            String[] parts = fullPath.split("/", 2);
+            if (parts.length == 2) {
+                minioClient.removeObject(RemoveObjectArgs.builder()
+                        .bucket(parts[0])
+                        .object(parts[1])
+                        .build());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to delete from MinIO: {}: {}", fullPath, e.getMessage());
+        }
+    }
+}
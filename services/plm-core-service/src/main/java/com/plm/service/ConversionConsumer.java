@@ -29,6 +29,7 @@ public class ConversionConsumer {
     private final MinioClient minioClient;
     private final RestTemplate restTemplate;
     private final NotificationService notificationService;
+    private final ContentBlobService contentBlobService;
 
     @Value("${conversion.service.url}")
     private String conversionServiceUrl;
@@ -36,12 +37,24 @@ public class ConversionConsumer {
     @Value("${minio.bucket.gltf}")
     private String gltfBucket;
 
-    @KafkaListener(topics = KafkaConfig.CONVERSION_TOPIC, groupId = "plm-core-service")
+    @KafkaListener(topics = KafkaConfig.CONVERSION_TOPIC, groupId = "plm-core-service",
+                   concurrency = "${plm.kafka.concurrency.conversion:2}")
     @Transactional
     public void handleConversion(ConversionMessage msg) {
         Document document = documentRepository.findById(msg.documentId()).orElse(null);
         if (document == null) return;
 
+        // An identical upload may have been converted since this job was queued
+        String converted = contentBlobService.convertedPath(document).orElse(null);
+        if (converted != null) {
+            document.setGltfPath(converted);
+            document.setConversionStatus(ConversionStatus.DONE);
+            documentRepository.save(document);
+            log.info("Reusing conversion of identical content for document {}", msg.documentId());
+            notificationService.notifyConversionUpdate(msg.documentId(), "DONE", converted);
+            return;
+        }
+
         log.info("Processing conversion for document {}", msg.documentId());
         document.setConversionStatus(ConversionStatus.CONVERTING);
         documentRepository.save(document);
@@ -84,7 +97,7 @@ public class ConversionConsumer {
                     .stream(new java.io.ByteArrayInputStream(glbBytes), glbBytes.length, -1)
                     .contentType("model/gltf-binary").build());
 
-            document.setGltfPath(gltfBucket + "/" + glbName);
+            document.setGltfPath(contentBlobService.recordConversion(document, gltfBucket + "/" + glbName));
             document.setConversionStatus(ConversionStatus.DONE);
             documentRepository.save(document);
             log.info("Conversion DONE for document {}", msg.documentId());
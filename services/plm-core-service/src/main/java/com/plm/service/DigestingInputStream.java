@@ -0,0 +1,85 @@
+package com.plm.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Counts and SHA-256-hashes the bytes read through it, so an upload's size and checksum are
+ * known once it has been streamed to storage without ever holding the content. Reading past
+ * {@code maxBytes} fails the stream, which aborts the upload that is consuming it.
+ */
+final class DigestingInputStream extends FilterInputStream {
+
+    private final MessageDigest digest;
+    private final long maxBytes;
+    private long count;
+
+    DigestingInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.maxBytes = maxBytes;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            digest.update((byte) b);
+            advance(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            digest.update(b, off, n);
+            advance(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        throw new IOException("skip is not supported on a digesting stream");
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("reset is not supported on a digesting stream");
+    }
+
+    long size() {
+        return count;
+    }
+
+    boolean limitExceeded() {
+        return count > maxBytes;
+    }
+
+    /** Hex SHA-256 of everything read; call once, after the stream is exhausted. */
+    String sha256() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void advance(int n) throws IOException {
+        count += n;
+        if (count > maxBytes) {
+            throw new IOException("Upload exceeds the " + maxBytes + " byte limit");
+        }
+    }
+}
@@ -1,25 +1,42 @@
 package com.plm.service;
 
 import com.plm.config.KafkaConfig;
+import com.plm.config.MinioPresigner;
+import com.plm.dto.ContentDigest;
 import com.plm.dto.ConversionMessage;
 import com.plm.dto.DocumentResponse;
+import com.plm.dto.PresignedUrlResponse;
+import com.plm.dto.StoredObject;
+import com.plm.entity.ContentBlob;
 import com.plm.entity.ConversionStatus;
 import com.plm.entity.Document;
 import com.plm.entity.Revision;
+import com.plm.exception.BadRequestException;
+import com.plm.exception.ConflictException;
 import com.plm.exception.ResourceNotFoundException;
 import com.plm.repository.DocumentRepository;
 import com.plm.repository.RevisionRepository;
 import io.minio.*;
+import io.minio.errors.ErrorResponseException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -32,6 +49,9 @@ public class DocumentService {
     private final RevisionRepository revisionRepository;
     private final MinioClient minioClient;
     private final KafkaTemplate<String, ConversionMessage> kafkaTemplate;
+    private final MinioPresigner minioPresigner;
+    private final ContentBlobService contentBlobService;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${minio.bucket.raw}")
     private String rawBucket;
@@ -39,8 +59,33 @@ public class DocumentService {
     @Value("${minio.bucket.gltf}")
     private String gltfBucket;
 
+    @Value("${minio.upload.part-size:16MB}")
+    private DataSize uploadPartSize;
+
+    @Value("${plm.documents.max-upload-size:2GB}")
+    private DataSize maxUploadSize;
+
+    @Value("${plm.documents.presigned.enabled:false}")
+    private boolean presignedEnabled;
+
+    @Value("${plm.documents.presigned.download-ttl:5m}")
+    private Duration presignedDownloadTtl;
+
+    @Value("${plm.documents.presigned.upload-ttl:15m}")
+    private Duration presignedUploadTtl;
+
     private static final Set<String> CONVERTIBLE = Set.of("STEP", "STP");
 
+    private static final Map<String, String> MODEL_TYPES = Map.of(
+            "glb", "model/gltf-binary",
+            "gltf", "model/gltf+json",
+            "step", "model/step",
+            "stp", "model/step",
+            "stl", "model/stl",
+            "obj", "model/obj",
+            "iges", "model/iges",
+            "igs", "model/iges");
+
     @Transactional(readOnly = true)
     public List<DocumentResponse> getDocumentsByRevision(Long revisionId) {
         ensureRevisionExists(revisionId);
@@ -53,80 +98,287 @@ public class DocumentService {
         return toResponse(findById(id));
     }
 
-    @Transactional
+    /** Multipart upload; the part is already spooled to disk by the container and is streamed from there. */
     public DocumentResponse uploadDocument(Long revisionId, MultipartFile file) {
-        Revision revision = revisionRepository.findById(revisionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Revision not found: " + revisionId));
+        try (InputStream in = file.getInputStream()) {
+            return uploadDocument(revisionId, file.getOriginalFilename(), file.getContentType(), file.getSize(), in);
+        } catch (IOException e) {
+            throw new RuntimeException("File upload failed: " + e.getMessage(), e);
+        }
+    }
 
-        String originalFilename = file.getOriginalFilename();
-        String extension = originalFilename != null && originalFilename.contains(".")
-                ? originalFilename.substring(originalFilename.lastIndexOf('.') + 1).toUpperCase()
-                : "UNKNOWN";
-        String objectName = "revisions/" + revisionId + "/" + UUID.randomUUID() + "_" + originalFilename;
+    /**
+     * Streams {@code content} into MinIO as it arrives. With {@code size} -1 (chunked request)
+     * the object is written as a multipart upload of {@code minio.upload.part-size} parts, so
+     * heap use per upload is one part whatever the file size. Size and SHA-256 are computed
+     * on the way through; the upload is then stored once per distinct content (see
+     * {@link ContentBlobService}), reusing the conversion of an identical earlier upload.
+     *
+     * No transaction is open while the file streams: the revision is checked up front and the
+     * blob reference and document row are written afterwards in one short transaction, which
+     * removes the staged object again if it fails.
+     */
+    public DocumentResponse uploadDocument(Long revisionId, String originalFilename, String contentType,
+                                           long size, InputStream content) {
+        ensureRevisionExists(revisionId);
+        requireSafeFileName(originalFilename);
+        if (size > maxUploadSize.toBytes()) {
+            throw new BadRequestException("File exceeds the maximum upload size of " + maxUploadSize);
+        }
+
+        String objectName = objectName(revisionId, originalFilename);
 
-        byte[] fileBytes;
+        DigestingInputStream in = new DigestingInputStream(content, maxUploadSize.toBytes());
         try {
-            fileBytes = file.getBytes();
             ensureBucketExists(rawBucket);
             minioClient.putObject(PutObjectArgs.builder()
                     .bucket(rawBucket)
                     .object(objectName)
-                    .stream(new java.io.ByteArrayInputStream(fileBytes), fileBytes.length, -1)
-                    .contentType(file.getContentType())
+                    .stream(in, size, uploadPartSize.toBytes())
+                    .contentType(contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE)
                     .build());
         } catch (Exception e) {
+            if (in.limitExceeded()) {
+                throw new BadRequestException("File exceeds the maximum upload size of " + maxUploadSize);
+            }
             log.error("Failed to upload file to MinIO", e);
             throw new RuntimeException("File upload failed: " + e.getMessage(), e);
         }
 
+        ContentDigest digest = new ContentDigest(in.sha256(), in.size());
+        try {
+            return transactionTemplate.execute(status -> createFromUpload(revisionId, originalFilename, objectName, digest));
+        } catch (RuntimeException e) {
+            deleteFromMinio(rawBucket + "/" + objectName);
+            throw e;
+        }
+    }
+
+    /**
+     * Registers an object staged in the raw bucket (a direct, resumable or presigned upload)
+     * as a document of the revision. It is stored once per distinct content like a direct
+     * upload, so an identical earlier file's conversion is reused instead of queueing another.
+     */
+    @Transactional
+    public DocumentResponse createFromUpload(Long revisionId, String originalFilename, String objectName,
+                                             ContentDigest digest) {
+        Revision revision = revisionRepository.findById(revisionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Revision not found: " + revisionId));
+        ContentBlob blob = contentBlobService.store(rawBucket, objectName, digest.sha256(), digest.size());
+        return toResponse(createDocument(revision, originalFilename, blob.getObjectPath(), digest.size(),
+                blob.getSha256(), blob.getGltfPath()));
+    }
+
+    /**
+     * Reads an object staged in the raw bucket once to hash it, for uploads whose bytes never
+     * passed through this service. Call it outside a transaction: the file may be many GB.
+     */
+    public ContentDigest digest(String objectName) {
+        try (InputStream object = minioClient.getObject(GetObjectArgs.builder()
+                .bucket(rawBucket)
+                .object(objectName)
+                .build());
+             DigestingInputStream in = new DigestingInputStream(object, Long.MAX_VALUE)) {
+            in.transferTo(OutputStream.nullOutputStream());
+            return new ContentDigest(in.sha256(), in.size());
+        } catch (Exception e) {
+            log.error("Failed to read upload {} from MinIO", objectName, e);
+            throw new RuntimeException("Could not read upload: " + e.getMessage(), e);
+        }
+    }
+
+    static String objectName(Long revisionId, String originalFilename) {
+        return "revisions/" + revisionId + "/" + UUID.randomUUID() + "_" + originalFilename;
+    }
+
+    /**
+     * Rejects names that would add a path segment to the object key or break the quoted
+     * file name of the {@code Content-Disposition} header the file is later served with.
+     */
+    static void requireSafeFileName(String originalFilename) {
+        if (originalFilename == null || originalFilename.isBlank()) {
+            throw new BadRequestException("File name is required");
+        }
+        if (originalFilename.chars().anyMatch(c -> c == '/' || c == '\\' || c == '"' || Character.isISOControl(c))) {
+            throw new BadRequestException("Invalid file name: " + originalFilename);
+        }
+    }
+
+    private Document createDocument(Revision revision, String originalFilename, String filePath,
+                                    long size, String sha256, String convertedPath) {
+        String extension = originalFilename.contains(".")
+                ? originalFilename.substring(originalFilename.lastIndexOf('.') + 1).toUpperCase()
+                : "UNKNOWN";
         Document document = Document.builder()
                 .revision(revision)
                 .fileName(originalFilename)
-                .filePath(rawBucket + "/" + objectName)
+                .filePath(filePath)
                 .fileType(extension)
+                .sizeBytes(size)
+                .contentSha256(sha256)
                 .build();
         document = documentRepository.save(document);
 
-        // Publish async conversion job for STEP/STP files
-        if (CONVERTIBLE.contains(extension)) {
+        if (CONVERTIBLE.contains(extension) && convertedPath != null) {
+            document.setGltfPath(convertedPath);
+            document.setConversionStatus(ConversionStatus.DONE);
+            document = documentRepository.save(document);
+            log.info("Reusing conversion of identical content for document {}", document.getId());
+        } else if (CONVERTIBLE.contains(extension)) {
+            // Publish async conversion job for STEP/STP files
             document.setConversionStatus(ConversionStatus.PENDING);
             document = documentRepository.save(document);
-            kafkaTemplate.send(KafkaConfig.CONVERSION_TOPIC,
-                    new ConversionMessage(document.getId(), revisionId, document.getFilePath(), originalFilename));
+            kafkaTemplate.send(KafkaConfig.CONVERSION_TOPIC, String.valueOf(document.getId()),
+                    new ConversionMessage(document.getId(), revision.getId(), document.getFilePath(), originalFilename));
             log.info("Queued STEP→GLB conversion for document {}", document.getId());
         }
-
-        return toResponse(document);
+        return document;
     }
 
     @Transactional
     public void deleteDocument(Long id) {
         Document document = findById(id);
-        deleteFromMinio(document.getFilePath());
-        if (document.getGltfPath() != null) {
-            deleteFromMinio(document.getGltfPath());
+        if (!contentBlobService.release(document)) {
+            contentBlobService.removeAfterCommit(document.getFilePath());
+            if (document.getGltfPath() != null) {
+                contentBlobService.removeAfterCommit(document.getGltfPath());
+            }
         }
         documentRepository.delete(document);
     }
 
-    public String getDownloadUrl(Long id) {
-        findById(id); // validate exists
-        return "/api/documents/" + id + "/file";
+    /**
+     * Where the client should fetch the document's file (the GLB once converted). With
+     * presigned URLs enabled this is a short-lived MinIO URL, so the bytes never pass through
+     * this service; the caller's right to read the document is checked here, at signing time.
+     */
+    @Transactional(readOnly = true)
+    public PresignedUrlResponse getDownloadUrl(Long id) {
+        Document document = findById(id);
+        if (!presignedEnabled) {
+            return new PresignedUrlResponse("/api/documents/" + id + "/file", "GET", null, null);
+        }
+        String path = document.getGltfPath() != null ? document.getGltfPath() : document.getFilePath();
+        String[] parts = path.split("/", 2);
+        if (parts.length != 2) throw new BadRequestException("Invalid file path");
+        try {
+            String fileName = downloadFileName(document);
+            String url = minioPresigner.presignedGet(parts[0], parts[1], presignedDownloadTtl, Map.of(
+                    "response-content-disposition", "inline; filename=\"" + fileName + "\"",
+                    "response-content-type", contentTypeFor(fileName)));
+            return new PresignedUrlResponse(url, "GET", null, LocalDateTime.now().plus(presignedDownloadTtl));
+        } catch (Exception e) {
+            log.error("Failed to presign download for document {}", id, e);
+            throw new RuntimeException("Could not create download URL: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Signs a single PUT straight into the raw bucket. The client uploads to the returned URL,
+     * then calls {@link #completePresignedUpload} with the object name to create the document.
+     */
+    public PresignedUrlResponse presignUpload(Long revisionId, String originalFilename) {
+        if (!presignedEnabled) {
+            throw new BadRequestException("Presigned uploads are disabled");
+        }
+        requireSafeFileName(originalFilename);
+        ensureRevisionExists(revisionId);
+        String objectName = objectName(revisionId, originalFilename);
+        try {
+            ensureBucketExists(rawBucket);
+            String url = minioPresigner.presignedPut(rawBucket, objectName, presignedUploadTtl);
+            return new PresignedUrlResponse(url, "PUT", objectName, LocalDateTime.now().plus(presignedUploadTtl));
+        } catch (Exception e) {
+            log.error("Failed to presign upload for revision {}", revisionId, e);
+            throw new RuntimeException("Could not create upload URL: " + e.getMessage(), e);
+        }
     }
 
-    public InputStream streamFile(Long id) {
+    /**
+     * Registers an object uploaded through a presigned PUT. Only keys issued for this revision
+     * are accepted, each at most once; the size comes from MinIO, not from the client. The
+     * object is hashed before the short transaction that stores it, as for a direct upload.
+     */
+    public DocumentResponse completePresignedUpload(Long revisionId, String objectName) {
+        ensureRevisionExists(revisionId);
+        String prefix = "revisions/" + revisionId + "/";
+        int separator = objectName.indexOf('_', prefix.length());
+        if (!objectName.startsWith(prefix) || objectName.indexOf('/', prefix.length()) >= 0 || separator < 0) {
+            throw new BadRequestException("Object was not issued for revision " + revisionId + ": " + objectName);
+        }
+        if (documentRepository.existsByFilePath(rawBucket + "/" + objectName)) {
+            throw new ConflictException("Upload already registered: " + objectName);
+        }
+        long size;
+        try {
+            size = minioClient.statObject(StatObjectArgs.builder().bucket(rawBucket).object(objectName).build()).size();
+        } catch (ErrorResponseException e) {
+            throw new BadRequestException("Object has not been uploaded: " + objectName);
+        } catch (Exception e) {
+            throw new RuntimeException("Could not verify upload: " + e.getMessage(), e);
+        }
+        if (size > maxUploadSize.toBytes()) {
+            deleteFromMinio(rawBucket + "/" + objectName);
+            throw new BadRequestException("File exceeds the maximum upload size of " + maxUploadSize);
+        }
+        ContentDigest digest = digest(objectName);
+        return transactionTemplate.execute(status ->
+                createFromUpload(revisionId, objectName.substring(separator + 1), objectName, digest));
+    }
+
+    /**
+     * Stats the file a download serves (the GLB once converted, else the raw upload), for
+     * range handling and validators; pair with {@link #openFile} to read it.
+     */
+    @Transactional(readOnly = true)
+    public StoredObject describeFile(Long id) {
         Document document = findById(id);
-        // Serve the converted GLB if available, otherwise serve the raw file
         String path = document.getGltfPath() != null ? document.getGltfPath() : document.getFilePath();
-        return fetchFromMinio(path);
+        String[] parts = path.split("/", 2);
+        if (parts.length != 2) throw new BadRequestException("Invalid file path");
+        String fileName = downloadFileName(document);
+        try {
+            StatObjectResponse stat = minioClient.statObject(StatObjectArgs.builder()
+                    .bucket(parts[0])
+                    .object(parts[1])
+                    .build());
+            return new StoredObject(parts[0], parts[1], fileName, contentTypeFor(fileName),
+                    stat.size(), stat.etag(), stat.lastModified());
+        } catch (ErrorResponseException e) {
+            throw new ResourceNotFoundException("File not found for document " + id);
+        } catch (Exception e) {
+            log.error("Failed to stat file in MinIO: {}", path, e);
+            throw new RuntimeException("Could not read file: " + e.getMessage(), e);
+        }
     }
 
-    public String getFileName(Long id) {
-        Document document = findById(id);
-        if (document.getGltfPath() != null) {
-            return document.getFileName().replaceAll("(?i)\\.(step|stp)$", ".glb");
+    /**
+     * Opens {@code length} bytes from {@code offset} (the whole object when length is -1) as a
+     * ranged MinIO read, pinned to the ETag from {@link #describeFile} so every range of one
+     * response comes from the same version of the object.
+     */
+    public InputStream openFile(StoredObject file, long offset, long length) {
+        try {
+            GetObjectArgs.Builder args = GetObjectArgs.builder()
+                    .bucket(file.bucket())
+                    .object(file.object())
+                    .matchETag(file.etag());
+            if (length >= 0) {
+                args.offset(offset).length(length);
+            }
+            return minioClient.getObject(args.build());
+        } catch (Exception e) {
+            log.error("Failed to stream file from MinIO: {}/{}", file.bucket(), file.object(), e);
+            throw new RuntimeException("Could not stream file: " + e.getMessage(), e);
         }
-        return document.getFileName();
+    }
+
+    /** Media type from the extension; CAD and glTF types first, then Spring's mime.types table. */
+    static String contentTypeFor(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        String model = dot >= 0 ? MODEL_TYPES.get(fileName.substring(dot + 1).toLowerCase()) : null;
+        if (model != null) return model;
+        return MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
     }
 
     public InputStream streamRawFile(Long id) {
@@ -137,7 +389,7 @@ public class DocumentService {
     private InputStream fetchFromMinio(String fullPath) {
         try {
             String[] parts = fullPath.split("/", 2);
-            if (parts.length != 2) throw new com.plm.exception.BadRequestException("Invalid file path");
+            if (parts.length != 2) throw new BadRequestException("Invalid file path");
             return minioClient.getObject(GetObjectArgs.builder()
                     .bucket(parts[0])
                     .object(parts[1])
@@ -169,6 +421,13 @@ public class DocumentService {
         }
     }
 
+    private static String downloadFileName(Document document) {
+        if (document.getGltfPath() != null) {
+            return document.getFileName().replaceAll("(?i)\\.(step|stp)$", ".glb");
+        }
+        return document.getFileName();
+    }
+
     private void ensureRevisionExists(Long revisionId) {
         if (!revisionRepository.existsById(revisionId)) {
             throw new ResourceNotFoundException("Revision not found: " + revisionId);
@@ -187,6 +446,8 @@ public class DocumentService {
         resp.setFileName(d.getFileName());
         resp.setFilePath(d.getFilePath());
         resp.setFileType(d.getFileType());
+        resp.setSizeBytes(d.getSizeBytes());
+        resp.setContentSha256(d.getContentSha256());
         resp.setGltfPath(d.getGltfPath());
         resp.setConversionStatus(d.getConversionStatus() != null ? d.getConversionStatus().name() : "N_A");
         resp.setUploadedAt(d.getUploadedAt());
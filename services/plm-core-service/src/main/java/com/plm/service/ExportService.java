@@ -0,0 +1,60 @@
+package com.plm.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plm.repository.BomLinkRepository;
+import com.plm.repository.ItemRepository;
+import com.plm.repository.RevisionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes items, revisions and BOM links as NDJSON (one JSON object per line) straight
+ * from forward-only JDBC cursors, so memory stays flat regardless of table size.
+ * Rows are ordered by (updatedAt, id): a consumer can keep the last updatedAt it saw
+ * and pass it back as {@code updatedSince} for the next incremental sync.
+ * Deletions are not visible through the watermark; use plm.item-events for those.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private final ItemRepository itemRepository;
+    private final RevisionRepository revisionRepository;
+    private final BomLinkRepository bomLinkRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void writeItems(LocalDateTime updatedSince, OutputStream out) throws IOException {
+        writeNdjson(itemRepository.streamForExport(updatedSince), out);
+    }
+
+    @Transactional(readOnly = true)
+    public void writeRevisions(LocalDateTime updatedSince, OutputStream out) throws IOException {
+        writeNdjson(revisionRepository.streamForExport(updatedSince), out);
+    }
+
+    @Transactional(readOnly = true)
+    public void writeBomLinks(LocalDateTime updatedSince, OutputStream out) throws IOException {
+        writeNdjson(bomLinkRepository.streamForExport(updatedSince), out);
+    }
+
+    private <T> void writeNdjson(Stream<T> rows, OutputStream out) throws IOException {
+        try (rows) {
+            BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+            Iterator<T> it = rows.iterator();
+            while (it.hasNext()) {
+                buffered.write(objectMapper.writeValueAsBytes(it.next()));
+                buffered.write('\n');
+            }
+            buffered.flush();
+        }
+    }
+}
@@ -13,7 +13,8 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class ExternalEventConsumer {
 
-    @KafkaListener(topics = "plm.external-events", groupId = "plm-core-service")
+    @KafkaListener(topics = "plm.external-events", groupId = "plm-core-service",
+                   concurrency = "${plm.kafka.concurrency.external-events:1}")
     public void onExternalEvent(JsonNode event) {
         String source = event.path("source").asText();
         String type   = event.path("type").asText();
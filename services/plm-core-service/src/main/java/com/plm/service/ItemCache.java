@@ -0,0 +1,98 @@
+package com.plm.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.plm.config.KafkaConfig;
+import com.plm.dto.ItemResponse;
+import com.plm.event.ItemEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Read-through cache for single-item lookups: item id to {@link ItemResponse}, plus item
+ * number to id. A number hit is only served if the cached item still carries that number,
+ * so renames never need the old number to be known at invalidation time.
+ *
+ * Writers evict after their transaction commits; every other replica evicts on the
+ * corresponding plm.item-events message, consumed under its own group id. The TTL is a
+ * safety net for changes that bypass {@link ItemService}. Cached responses are shared
+ * instances and must not be modified by callers.
+ */
+@Service
+@Slf4j
+public class ItemCache {
+
+    private final Cache<Long, ItemResponse> byId;
+    private final Cache<String, Long> idByNumber;
+
+    public ItemCache(MeterRegistry meterRegistry,
+                     @Value("${plm.item-cache.max-entries:100000}") long maxEntries,
+                     @Value("${plm.item-cache.ttl:5m}") Duration ttl) {
+        this.byId = build(maxEntries, ttl);
+        this.idByNumber = build(maxEntries, ttl);
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "item.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByNumber, "item.by-number");
+    }
+
+    public ItemResponse get(Long id, Function<Long, ItemResponse> loader) {
+        return byId.get(id, loader);
+    }
+
+    public ItemResponse getByNumber(String itemNumber, Function<String, ItemResponse> loader) {
+        Long id = idByNumber.get(itemNumber, number -> store(loader.apply(number)).getId());
+        ItemResponse cached = byId.getIfPresent(id);
+        if (cached != null && itemNumber.equals(cached.getItemNumber())) {
+            return cached;
+        }
+        // Changed, renamed or deleted since the number was mapped
+        idByNumber.invalidate(itemNumber);
+        ItemResponse fresh = store(loader.apply(itemNumber));
+        idByNumber.put(itemNumber, fresh.getId());
+        return fresh;
+    }
+
+    /** Evicts {@code id} once the current transaction commits (immediately if there is none). */
+    public void evictAfterCommit(Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    byId.invalidate(id);
+                }
+            });
+        } else {
+            byId.invalidate(id);
+        }
+    }
+
+    @KafkaListener(topics = KafkaConfig.ITEM_EVENTS_TOPIC,
+                   groupId = "plm-core-item-cache-#{T(java.util.UUID).randomUUID()}",
+                   properties = "auto.offset.reset=latest")
+    public void onItemEvent(ItemEvent event) {
+        if (event.id() == null) return;
+        byId.invalidate(event.id());
+        log.debug("Invalidated item cache for {} ({})", event.id(), event.type());
+    }
+
+    private ItemResponse store(ItemResponse response) {
+        byId.put(response.getId(), response);
+        return response;
+    }
+
+    private static <K, V> Cache<K, V> build(long maxEntries, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,164 @@
+package com.plm.service;
+
+import com.plm.config.KafkaConfig;
+import com.plm.event.EventCodec;
+import com.plm.event.ItemEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains {@code item_event_outbox} to plm.item-events. Each batch is read in id order, sent
+ * without waiting per record, and marked sent in one statement once the broker has
+ * acknowledged it. No transaction is open while acknowledgements are awaited, so a broker
+ * outage does not pin a pooled connection.
+ *
+ * A lease in {@code outbox_relay_lease}, renewed before every batch, keeps a single relay
+ * active across replicas. Ids are assigned at insert time, so across items events may leave
+ * in a different order than their transactions committed; within one item they follow
+ * commit order, because {@link ItemEventPublisher} inserts only after the item row is locked.
+ * Per-key order is all consumers rely on. Delivery is at-least-once: when a send fails,
+ * that row and every later row with the same key stay pending and are re-sent together on
+ * the next run, which keeps the last delivered event of every item the latest one.
+ */
+@Component
+@ConditionalOnProperty(prefix = "plm.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ItemEventOutboxRelay {
+
+    private static final String LEASE_NAME = "item-events";
+    private static final String ACQUIRE_LEASE_SQL =
+            "UPDATE outbox_relay_lease SET owner = ?, expires_at = NOW() + ? * INTERVAL '1 millisecond' "
+            + "WHERE name = ? AND (owner = ? OR expires_at < NOW())";
+    private static final String SELECT_PENDING_SQL =
+            "SELECT id, event_key, payload FROM item_event_outbox WHERE sent_at IS NULL ORDER BY id LIMIT ?";
+    private static final String MARK_SENT_SQL =
+            "UPDATE item_event_outbox SET sent_at = ? WHERE id = ANY(CAST(? AS BIGINT[]))";
+    private static final String PURGE_SQL = "DELETE FROM item_event_outbox WHERE sent_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String owner = UUID.randomUUID().toString();
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Duration lease;
+    private final Duration retention;
+
+    public ItemEventOutboxRelay(JdbcTemplate jdbcTemplate,
+                                KafkaTemplate<String, Object> kafkaTemplate,
+                                @Value("${plm.outbox.relay.batch-size:500}") int batchSize,
+                                @Value("${plm.outbox.relay.send-timeout:30s}") Duration sendTimeout,
+                                @Value("${plm.outbox.relay.lease:90s}") Duration lease,
+                                @Value("${plm.outbox.retention:24h}") Duration retention) {
+        if (lease.compareTo(sendTimeout) <= 0) {
+            throw new IllegalArgumentException("plm.outbox.relay.lease must be longer than plm.outbox.relay.send-timeout");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.kafkaTemplate = kafkaTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.lease = lease;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${plm.outbox.relay.interval-ms:250}")
+    public void relay() {
+        int sent;
+        do {
+            sent = relayBatch();
+        } while (sent == batchSize);
+    }
+
+    @Scheduled(cron = "${plm.outbox.purge-cron:0 15 * * * *}")
+    public void purge() {
+        int deleted = jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(LocalDateTime.now().minus(retention)));
+        if (deleted > 0) {
+            log.info("Purged {} delivered item events from the outbox", deleted);
+        }
+    }
+
+    /**
+     * Sends one batch, each statement in its own short transaction. Returns how many rows were
+     * marked sent, which is less than the batch size when the outbox is drained, a send
+     * failed, or another replica holds the lease.
+     */
+    int relayBatch() {
+        if (jdbcTemplate.update(ACQUIRE_LEASE_SQL, owner, lease.toMillis(), LEASE_NAME, owner) == 0) {
+            return 0;
+        }
+        List<PendingEvent> pending = jdbcTemplate.query(SELECT_PENDING_SQL,
+                (rs, i) -> new PendingEvent(rs.getLong("id"), rs.getString("event_key"), rs.getString("payload")),
+                batchSize);
+        if (pending.isEmpty()) return 0;
+
+        List<CompletableFuture<SendResult<String, Object>>> futures = new ArrayList<>(pending.size());
+        for (PendingEvent event : pending) {
+            futures.add(kafkaTemplate.send(KafkaConfig.ITEM_EVENTS_TOPIC, event.key(), readPayload(event.payload())));
+        }
+
+        // one deadline for the whole batch keeps it well inside the lease
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        List<Long> delivered = new ArrayList<>(pending.size());
+        Set<String> blockedKeys = new HashSet<>();
+        for (int i = 0; i < pending.size(); i++) {
+            PendingEvent event = pending.get(i);
+            if (!acknowledged(futures.get(i), event, deadline)) {
+                blockedKeys.add(event.key());
+            } else if (!blockedKeys.contains(event.key())) {
+                delivered.add(event.id());
+            }
+        }
+        if (!delivered.isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.update(con -> {
+                var ps = con.prepareStatement(MARK_SENT_SQL);
+                ps.setTimestamp(1, now);
+                ps.setArray(2, con.createArrayOf("bigint", delivered.toArray()));
+                return ps;
+            });
+        }
+        if (!blockedKeys.isEmpty()) {
+            log.warn("Item event relay: {} of {} events left pending for retry", pending.size() - delivered.size(), pending.size());
+        }
+        return delivered.size();
+    }
+
+    private boolean acknowledged(CompletableFuture<SendResult<String, Object>> future, PendingEvent event,
+                                 long deadline) {
+        try {
+            future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.debug("Item event {} for key {} not acknowledged: {}", event.id(), event.key(), e.getMessage());
+            return false;
+        }
+    }
+
+    private ItemEvent readPayload(String payload) {
+        try {
+            return EventCodec.json().readValue(payload, ItemEvent.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record PendingEvent(long id, String key, String payload) {
+    }
+}
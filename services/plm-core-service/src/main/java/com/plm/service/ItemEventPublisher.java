@@ -1,56 +1,100 @@
 package com.plm.service;
 
-import com.plm.config.KafkaConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.plm.entity.Item;
+import com.plm.event.EventCodec;
+import com.plm.event.ItemEvent;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
-import java.util.HashMap;
-import java.util.Map;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
 
+/**
+ * Records plm.item-events in the {@code item_event_outbox} table as part of the caller's
+ * transaction; {@link ItemEventOutboxRelay} sends them once committed. A rolled-back write
+ * therefore never emits an event, and item writes no longer wait on the broker.
+ *
+ * Pending item changes are flushed before the outbox insert, so the item row is locked
+ * when the row's id is assigned: for any one item, outbox ids then follow commit order.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Transactional(propagation = Propagation.MANDATORY)
 public class ItemEventPublisher {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private static final String INSERT_SQL =
+            "INSERT INTO item_event_outbox (event_key, event_type, payload, created_at) VALUES (?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
 
     public void publishItemCreated(Item item) {
-        send("ITEM_CREATED", item);
+        send(ItemEvent.Type.ITEM_CREATED, item);
     }
 
     public void publishItemUpdated(Item item) {
-        send("ITEM_UPDATED", item);
+        send(ItemEvent.Type.ITEM_UPDATED, item);
     }
 
     public void publishItemDeleted(Long id, String itemNumber) {
-        var event = Map.of(
-                "type", "ITEM_DELETED",
-                "id", String.valueOf(id),
-                "itemNumber", itemNumber,
-                "timestamp", Instant.now().toString()
-        );
-        kafkaTemplate.send(KafkaConfig.ITEM_EVENTS_TOPIC, String.valueOf(id), event);
-        log.info("Published ITEM_DELETED for item {}", itemNumber);
+        enqueue(List.of(ItemEvent.of(ItemEvent.Type.ITEM_DELETED, id, itemNumber, null, null, null)));
+        log.info("Queued ITEM_DELETED for item {}", itemNumber);
     }
 
     public void publishLifecycleChanged(Item item) {
-        send("LIFECYCLE_CHANGED", item);
-    }
-
-    private void send(String type, Item item) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("type", type);
-        event.put("id", String.valueOf(item.getId()));
-        event.put("itemNumber", item.getItemNumber());
-        event.put("name", item.getName() != null ? item.getName() : "");
-        event.put("description", item.getDescription() != null ? item.getDescription() : "");
-        event.put("lifecycleState", item.getLifecycleState() != null ? item.getLifecycleState().name() : "");
-        event.put("timestamp", Instant.now().toString());
-        kafkaTemplate.send(KafkaConfig.ITEM_EVENTS_TOPIC, String.valueOf(item.getId()), event);
-        log.info("Published {} for item {}", type, item.getItemNumber());
+        send(ItemEvent.Type.LIFECYCLE_CHANGED, item);
+    }
+
+    public void publishItemsCreated(List<Item> items) {
+        sendBatch(ItemEvent.Type.ITEM_CREATED, items);
+    }
+
+    public void publishItemsUpdated(List<Item> items) {
+        sendBatch(ItemEvent.Type.ITEM_UPDATED, items);
+    }
+
+    private void send(ItemEvent.Type type, Item item) {
+        enqueue(List.of(toEvent(type, item)));
+        log.info("Queued {} for item {}", type, item.getItemNumber());
+    }
+
+    /** One event per item as usual, written with batched inserts and without per-record logging. */
+    private void sendBatch(ItemEvent.Type type, List<Item> items) {
+        if (items.isEmpty()) return;
+        enqueue(items.stream().map(item -> toEvent(type, item)).toList());
+        log.info("Queued {} {} events", items.size(), type);
+    }
+
+    private void enqueue(List<ItemEvent> events) {
+        entityManager.flush();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, BATCH_SIZE, (ps, event) -> {
+            ps.setString(1, String.valueOf(event.id()));
+            ps.setString(2, event.type().name());
+            ps.setString(3, toJson(event));
+            ps.setTimestamp(4, now);
+        });
+    }
+
+    private String toJson(ItemEvent event) {
+        try {
+            return EventCodec.json().writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize item event " + event.type(), e);
+        }
+    }
+
+    private static ItemEvent toEvent(ItemEvent.Type type, Item item) {
+        return ItemEvent.of(type, item.getId(), item.getItemNumber(), item.getName(), item.getDescription(),
+                item.getLifecycleState() != null ? item.getLifecycleState().name() : null);
     }
 }
@@ -0,0 +1,165 @@
+package com.plm.service;
+
+import com.plm.dto.ItemRequest;
+import com.plm.dto.ItemUpsertResponse;
+import com.plm.dto.ItemUpsertRowResult;
+import com.plm.dto.ItemUpsertRowResult.Status;
+import com.plm.entity.Item;
+import com.plm.entity.LifecycleState;
+import com.plm.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Bulk item upsert keyed on {@code item_number}. Each chunk of rows is written with a single
+ * {@code INSERT ... SELECT FROM unnest(...) ON CONFLICT DO UPDATE ... RETURNING} round trip,
+ * so conflict detection happens in the database instead of one existence query per item.
+ *
+ * Like {@link ItemService#updateItem}, an update only touches name and description; the
+ * lifecycle state of an existing item is left to the lifecycle transition rules. Rows whose
+ * name and description are already current are reported as UNCHANGED and raise no event.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemImportService {
+
+    public static final int MAX_UPSERT_ROWS = 10_000;
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final String UPSERT_SQL = """
+            INSERT INTO items (item_number, name, description, lifecycle_state, created_at, updated_at)
+            SELECT u.item_number, u.name, u.description, u.lifecycle_state, ?, ?
+            FROM unnest(CAST(? AS VARCHAR[]), CAST(? AS VARCHAR[]), CAST(? AS TEXT[]), CAST(? AS VARCHAR[]))
+                 AS u (item_number, name, description, lifecycle_state)
+            ON CONFLICT (item_number) DO UPDATE
+            SET name = EXCLUDED.name, description = EXCLUDED.description, updated_at = EXCLUDED.updated_at
+            WHERE (items.name, items.description) IS DISTINCT FROM (EXCLUDED.name, EXCLUDED.description)
+            RETURNING id, item_number, name, description, lifecycle_state, created_at, updated_at, (xmax = 0) AS inserted
+            """;
+    private static final String FIND_IDS_SQL =
+            "SELECT id, item_number FROM items WHERE item_number = ANY(CAST(? AS VARCHAR[]))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ItemEventPublisher eventPublisher;
+    private final ItemCache itemCache;
+
+    @Transactional
+    public ItemUpsertResponse upsertItems(List<ItemRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new BadRequestException("Upsert contains no rows");
+        }
+        if (requests.size() > MAX_UPSERT_ROWS) {
+            throw new BadRequestException("Upsert exceeds " + MAX_UPSERT_ROWS + " rows");
+        }
+
+        List<ItemUpsertRowResult> results = new ArrayList<>(requests.size());
+        Map<String, ItemUpsertRowResult> pending = new LinkedHashMap<>();
+        List<ItemRequest> accepted = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ItemRequest request = requests.get(i);
+            ItemUpsertRowResult result = new ItemUpsertRowResult();
+            result.setRow(i + 1);
+            result.setItemNumber(request.getItemNumber());
+            String error = validate(request);
+            if (error != null) {
+                result.setStatus(Status.INVALID);
+                result.setMessage(error);
+            } else if (pending.containsKey(request.getItemNumber())) {
+                result.setStatus(Status.DUPLICATE);
+                result.setMessage("Item number appears earlier in this upsert");
+            } else {
+                pending.put(request.getItemNumber(), result);
+                accepted.add(request);
+            }
+            results.add(result);
+        }
+
+        List<Item> created = new ArrayList<>();
+        List<Item> updated = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < accepted.size(); from += CHUNK_SIZE) {
+            upsertChunk(accepted.subList(from, Math.min(from + CHUNK_SIZE, accepted.size())), now, created, updated);
+        }
+        created.forEach(item -> resolve(pending.remove(item.getItemNumber()), item.getId(), Status.CREATED));
+        updated.forEach(item -> resolve(pending.remove(item.getItemNumber()), item.getId(), Status.UPDATED));
+        if (!pending.isEmpty()) {
+            jdbcTemplate.query(con -> {
+                var ps = con.prepareStatement(FIND_IDS_SQL);
+                ps.setArray(1, con.createArrayOf("varchar", pending.keySet().toArray()));
+                return ps;
+            }, (RowCallbackHandler) rs ->
+                    resolve(pending.get(rs.getString("item_number")), rs.getLong("id"), Status.UNCHANGED));
+        }
+
+        eventPublisher.publishItemsCreated(created);
+        eventPublisher.publishItemsUpdated(updated);
+        updated.forEach(item -> itemCache.evictAfterCommit(item.getId()));
+        log.info("Item upsert: {} rows, {} created, {} updated", requests.size(), created.size(), updated.size());
+
+        ItemUpsertResponse response = new ItemUpsertResponse();
+        response.setCreated(created.size());
+        response.setUpdated(updated.size());
+        response.setUnchanged(accepted.size() - created.size() - updated.size());
+        response.setRejected(requests.size() - accepted.size());
+        response.setRows(results);
+        return response;
+    }
+
+    private void upsertChunk(List<ItemRequest> chunk, Timestamp now, List<Item> created, List<Item> updated) {
+        String[] numbers = new String[chunk.size()];
+        String[] names = new String[chunk.size()];
+        String[] descriptions = new String[chunk.size()];
+        String[] states = new String[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            ItemRequest request = chunk.get(i);
+            numbers[i] = request.getItemNumber();
+            names[i] = request.getName();
+            descriptions[i] = request.getDescription();
+            states[i] = (request.getLifecycleState() != null ? request.getLifecycleState() : LifecycleState.DRAFT).name();
+        }
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(UPSERT_SQL);
+            ps.setTimestamp(1, now);
+            ps.setTimestamp(2, now);
+            ps.setArray(3, con.createArrayOf("varchar", numbers));
+            ps.setArray(4, con.createArrayOf("varchar", names));
+            ps.setArray(5, con.createArrayOf("text", descriptions));
+            ps.setArray(6, con.createArrayOf("varchar", states));
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            Item item = Item.builder()
+                    .id(rs.getLong("id"))
+                    .itemNumber(rs.getString("item_number"))
+                    .name(rs.getString("name"))
+                    .description(rs.getString("description"))
+                    .lifecycleState(LifecycleState.valueOf(rs.getString("lifecycle_state")))
+                    .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                    .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
+                    .build();
+            (rs.getBoolean("inserted") ? created : updated).add(item);
+        });
+    }
+
+    /** Mirrors the bean-validation constraints on {@link ItemRequest}. */
+    private static String validate(ItemRequest request) {
+        if (request.getItemNumber() == null || request.getItemNumber().isBlank()) return "itemNumber is required";
+        if (request.getItemNumber().length() > 50) return "itemNumber must be at most 50 characters";
+        if (request.getName() == null || request.getName().isBlank()) return "name is required";
+        if (request.getName().length() > 255) return "name must be at most 255 characters";
+        return null;
+    }
+
+    private static void resolve(ItemUpsertRowResult result, Long id, Status status) {
+        result.setId(id);
+        result.setStatus(status);
+    }
+}
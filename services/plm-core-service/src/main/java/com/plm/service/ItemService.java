@@ -1,5 +1,6 @@
 package com.plm.service;
 
+import com.plm.dto.CursorPage;
 import com.plm.dto.ItemRequest;
 import com.plm.dto.ItemResponse;
 import com.plm.entity.Item;
@@ -8,33 +9,91 @@ import com.plm.exception.BadRequestException;
 import com.plm.exception.ConflictException;
 import com.plm.exception.ResourceNotFoundException;
 import com.plm.repository.ItemRepository;
+import com.plm.repository.VersionWatermark;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class ItemService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     private final ItemRepository itemRepository;
     private final ItemEventPublisher eventPublisher;
+    private final ItemCache itemCache;
 
     @Transactional(readOnly = true)
     public List<ItemResponse> getAllItems() {
         return itemRepository.findAll().stream().map(this::toResponse).toList();
     }
 
+    /**
+     * Keyset-paginated listing ordered by {@code id} or {@code updatedAt}.
+     * Pass the previous page's {@code nextCursor} to continue; the cursor is only
+     * valid for the sort order it was issued with.
+     */
     @Transactional(readOnly = true)
-    public ItemResponse getItemById(Long id) {
-        return toResponse(findById(id));
+    public CursorPage<ItemResponse> listItems(String cursor, int size, String sort,
+                                              LifecycleState state, LocalDateTime updatedSince) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        boolean byUpdatedAt = switch (sort) {
+            case "id" -> false;
+            case "updatedAt" -> true;
+            default -> throw new BadRequestException("Unsupported sort: " + sort + " (expected id or updatedAt)");
+        };
+        String[] key = decodeCursor(cursor);
+        if (key != null && key.length != (byUpdatedAt ? 2 : 1)) {
+            throw new BadRequestException("Cursor does not match sort: " + sort);
+        }
+
+        List<ItemResponse> items;
+        if (byUpdatedAt) {
+            LocalDateTime afterUpdatedAt = key != null ? parseCursorTime(key[0]) : EPOCH;
+            long afterId = key != null ? parseCursorId(key[1]) : 0L;
+            items = itemRepository.findPageOrderByUpdatedAt(afterUpdatedAt, afterId, state, updatedSince, Limit.of(limit));
+        } else {
+            long afterId = key != null ? parseCursorId(key[0]) : 0L;
+            items = itemRepository.findPageOrderById(afterId, state, updatedSince, Limit.of(limit));
+        }
+
+        String next = null;
+        if (items.size() == limit) {
+            ItemResponse last = items.get(items.size() - 1);
+            next = byUpdatedAt ? encodeCursor(last.getUpdatedAt() + "|" + last.getId()) : encodeCursor(String.valueOf(last.getId()));
+        }
+        return new CursorPage<>(items, next);
     }
 
+    /** Version of the whole item table, for conditional GETs on item listings. */
     @Transactional(readOnly = true)
+    public VersionWatermark watermark() {
+        return itemRepository.watermark();
+    }
+
+    /**
+     * Not transactional: a cache hit (often ending in a 304) never touches the database; only
+     * the loader's repository call runs in a read-only transaction of its own.
+     */
+    public ItemResponse getItemById(Long id) {
+        return itemCache.get(id, key -> toResponse(findById(key)));
+    }
+
+    /** Like {@link #getItemById}, without a transaction around the cache lookup. */
     public ItemResponse getItemByNumber(String itemNumber) {
-        return toResponse(itemRepository.findByItemNumber(itemNumber)
-                .orElseThrow(() -> new ResourceNotFoundException("Item not found: " + itemNumber)));
+        return itemCache.getByNumber(itemNumber, number -> toResponse(itemRepository.findByItemNumber(number)
+                .orElseThrow(() -> new ResourceNotFoundException("Item not found: " + number))));
     }
 
     @Transactional
@@ -65,6 +124,7 @@ public class ItemService {
         item.setDescription(request.getDescription());
         item = itemRepository.save(item);
         eventPublisher.publishItemUpdated(item);
+        itemCache.evictAfterCommit(item.getId());
         return toResponse(item);
     }
 
@@ -75,12 +135,18 @@ public class ItemService {
         item.setLifecycleState(newState);
         item = itemRepository.save(item);
         eventPublisher.publishLifecycleChanged(item);
+        itemCache.evictAfterCommit(item.getId());
         return toResponse(item);
     }
 
     @Transactional(readOnly = true)
-    public List<ItemResponse> search(String q) {
-        return itemRepository.search(q).stream().map(this::toResponse).toList();
+    public List<ItemResponse> search(String q, int page, int size) {
+        if (q == null || q.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        long offset = (long) Math.max(0, page) * limit;
+        return itemRepository.search(q.strip(), limit, offset).stream().map(this::toResponse).toList();
     }
 
     @Transactional
@@ -91,6 +157,7 @@ public class ItemService {
         }
         itemRepository.delete(item);
         eventPublisher.publishItemDeleted(id, item.getItemNumber());
+        itemCache.evictAfterCommit(id);
     }
 
     private void validateTransition(LifecycleState current, LifecycleState next) {
@@ -106,6 +173,35 @@ public class ItemService {
         }
     }
 
+    private String encodeCursor(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private long parseCursorId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private LocalDateTime parseCursorTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
     private Item findById(Long id) {
         return itemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Item not found: " + id));
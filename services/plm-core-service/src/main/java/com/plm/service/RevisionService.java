@@ -10,6 +10,7 @@ import com.plm.exception.ConflictException;
 import com.plm.exception.ResourceNotFoundException;
 import com.plm.repository.ItemRepository;
 import com.plm.repository.RevisionRepository;
+import com.plm.repository.VersionWatermark;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,6 +31,16 @@ public class RevisionService {
                 .stream().map(this::toResponse).toList();
     }
 
+    @Transactional(readOnly = true)
+    public VersionWatermark watermarkByItem(Long itemId) {
+        return revisionRepository.watermarkByItem(itemId);
+    }
+
+    @Transactional(readOnly = true)
+    public VersionWatermark watermark(Long id) {
+        return revisionRepository.watermark(id);
+    }
+
     @Transactional(readOnly = true)
     public RevisionResponse getRevision(Long id) {
         return toResponse(findById(id));
@@ -99,6 +110,7 @@ public class RevisionService {
         resp.setRevisionCode(r.getRevisionCode());
         resp.setStatus(r.getStatus());
         resp.setCreatedAt(r.getCreatedAt());
+        resp.setUpdatedAt(r.getUpdatedAt());
         return resp;
     }
 }
@@ -0,0 +1,347 @@
+package com.plm.service;
+
+import com.plm.config.MultipartMinioClient;
+import com.plm.dto.ContentDigest;
+import com.plm.dto.DocumentResponse;
+import com.plm.dto.UploadPartResponse;
+import com.plm.dto.UploadSessionRequest;
+import com.plm.dto.UploadSessionResponse;
+import com.plm.entity.UploadSession;
+import com.plm.entity.UploadSessionPart;
+import com.plm.entity.UploadSessionStatus;
+import com.plm.exception.BadRequestException;
+import com.plm.exception.ConflictException;
+import com.plm.exception.ResourceNotFoundException;
+import com.plm.repository.RevisionRepository;
+import com.plm.repository.UploadSessionPartRepository;
+import com.plm.repository.UploadSessionRepository;
+import io.minio.BucketExistsArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.StatObjectArgs;
+import io.minio.messages.Part;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Resumable uploads: initiate a session, PUT numbered parts (in any order, in parallel, and
+ * retried individually), then complete. Each session is a MinIO multipart upload whose
+ * progress is tracked in {@code upload_sessions}/{@code upload_session_parts}, so a client
+ * can ask which parts are stored and resend only the rest, even after a restart of either
+ * side. The document row is created only when the upload is completed.
+ *
+ * Every part but the last has exactly the session's chunk size (S3 requires at least 5 MiB);
+ * parts stream straight into MinIO and no database transaction is held while they do.
+ * Sessions still active after {@code plm.uploads.session-ttl} are aborted by a cleanup run.
+ */
+@Service
+@Slf4j
+public class UploadSessionService {
+
+    private static final long MIN_CHUNK_SIZE = DataSize.ofMegabytes(5).toBytes();
+    private static final int MAX_PARTS = 10_000;
+
+    private final UploadSessionRepository sessionRepository;
+    private final UploadSessionPartRepository partRepository;
+    private final RevisionRepository revisionRepository;
+    private final DocumentService documentService;
+    private final MultipartMinioClient multipartClient;
+    private final MinioClient minioClient;
+    private final String rawBucket;
+    private final DataSize defaultChunkSize;
+    private final DataSize maxChunkSize;
+    private final DataSize maxFileSize;
+    private final Duration sessionTtl;
+    private final TransactionTemplate transactionTemplate;
+
+    public UploadSessionService(UploadSessionRepository sessionRepository,
+                                UploadSessionPartRepository partRepository,
+                                RevisionRepository revisionRepository,
+                                DocumentService documentService,
+                                MultipartMinioClient multipartClient,
+                                MinioClient minioClient,
+                                @Value("${minio.bucket.raw}") String rawBucket,
+                                @Value("${plm.uploads.default-chunk-size:16MB}") DataSize defaultChunkSize,
+                                @Value("${plm.uploads.max-chunk-size:64MB}") DataSize maxChunkSize,
+                                @Value("${plm.uploads.max-file-size:20GB}") DataSize maxFileSize,
+                                @Value("${plm.uploads.session-ttl:24h}") Duration sessionTtl,
+                                TransactionTemplate transactionTemplate) {
+        this.sessionRepository = sessionRepository;
+        this.partRepository = partRepository;
+        this.revisionRepository = revisionRepository;
+        this.documentService = documentService;
+        this.multipartClient = multipartClient;
+        this.minioClient = minioClient;
+        this.rawBucket = rawBucket;
+        this.defaultChunkSize = defaultChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.maxFileSize = maxFileSize;
+        this.sessionTtl = sessionTtl;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Transactional
+    public UploadSessionResponse initiate(Long revisionId, UploadSessionRequest request) {
+        if (!revisionRepository.existsById(revisionId)) {
+            throw new ResourceNotFoundException("Revision not found: " + revisionId);
+        }
+        DocumentService.requireSafeFileName(request.getFileName());
+        long totalSize = request.getTotalSize();
+        if (totalSize > maxFileSize.toBytes()) {
+            throw new BadRequestException("File exceeds the maximum upload size of " + maxFileSize);
+        }
+        long chunkSize = request.getChunkSize() != null ? request.getChunkSize() : defaultChunkSize.toBytes();
+        if (chunkSize < MIN_CHUNK_SIZE || chunkSize > maxChunkSize.toBytes()) {
+            throw new BadRequestException("chunkSize must be between " + MIN_CHUNK_SIZE + " and "
+                    + maxChunkSize.toBytes() + " bytes");
+        }
+        long partCount = (totalSize + chunkSize - 1) / chunkSize;
+        if (partCount > MAX_PARTS) {
+            throw new BadRequestException("chunkSize too small: the file would need more than " + MAX_PARTS + " parts");
+        }
+
+        String objectName = DocumentService.objectName(revisionId, request.getFileName());
+        String uploadId;
+        try {
+            ensureBucketExists();
+            uploadId = multipartClient.createMultipartUpload(rawBucket, objectName, request.getContentType());
+        } catch (Exception e) {
+            log.error("Failed to start multipart upload in MinIO", e);
+            throw new RuntimeException("Could not start upload: " + e.getMessage(), e);
+        }
+
+        UploadSession session = sessionRepository.save(UploadSession.builder()
+                .revisionId(revisionId)
+                .fileName(request.getFileName())
+                .contentType(request.getContentType())
+                .totalSize(totalSize)
+                .chunkSize(chunkSize)
+                .partCount((int) partCount)
+                .objectName(objectName)
+                .s3UploadId(uploadId)
+                .createdBy(currentUser())
+                .expiresAt(LocalDateTime.now().plus(sessionTtl))
+                .build());
+        log.info("Started upload session {} for {} ({} bytes in {} parts)", session.getId(),
+                session.getFileName(), totalSize, partCount);
+        return toResponse(session, List.of());
+    }
+
+    @Transactional(readOnly = true)
+    public UploadSessionResponse getSession(UUID id) {
+        UploadSession session = findOwned(id);
+        return toResponse(session, partRepository.findBySessionIdOrderByPartNumber(id));
+    }
+
+    /**
+     * Streams one part into MinIO. Re-sending a part replaces it, so a failed or interrupted
+     * part is simply retried. The body must be exactly the part's expected length.
+     */
+    public UploadPartResponse uploadPart(UUID id, int partNumber, long contentLength, InputStream data) {
+        UploadSession session = findOwned(id);
+        requireActive(session);
+        if (partNumber < 1 || partNumber > session.getPartCount()) {
+            throw new BadRequestException("partNumber must be between 1 and " + session.getPartCount());
+        }
+        long expected = session.expectedPartSize(partNumber);
+        if (contentLength != expected) {
+            throw new BadRequestException("Part " + partNumber + " must be exactly " + expected
+                    + " bytes with a Content-Length header");
+        }
+
+        String etag;
+        try {
+            etag = multipartClient.uploadPart(rawBucket, session.getObjectName(), session.getS3UploadId(),
+                    partNumber, data, expected);
+        } catch (Exception e) {
+            log.warn("Upload session {}: part {} failed: {}", id, partNumber, e.getMessage());
+            throw new RuntimeException("Part upload failed: " + e.getMessage(), e);
+        }
+        recordPart(id, partNumber, expected, etag);
+        return new UploadPartResponse(partNumber, expected, etag);
+    }
+
+    /**
+     * Assembles the parts in MinIO and creates the document. Completing an already completed
+     * session returns the same document, so a client may safely retry a lost response. If an
+     * earlier attempt assembled the object but failed to create the document, the multipart
+     * upload no longer exists; the retry then finds the assembled object and carries on.
+     *
+     * The assembled file is hashed (see {@link DocumentService#digest}) with no transaction
+     * open; only storing it and creating the document run in one, under the session's lock.
+     */
+    public DocumentResponse complete(UUID id) {
+        UploadSession session = findOwned(id);
+        if (session.getStatus() == UploadSessionStatus.COMPLETED) {
+            return documentService.getDocument(session.getDocumentId());
+        }
+        requireActive(session);
+
+        List<UploadSessionPart> parts = partRepository.findBySessionIdOrderByPartNumber(id);
+        if (parts.size() != session.getPartCount()) {
+            List<Integer> stored = parts.stream().map(UploadSessionPart::getPartNumber).toList();
+            List<Integer> missing = IntStream.rangeClosed(1, session.getPartCount())
+                    .filter(n -> !stored.contains(n)).limit(20).boxed().toList();
+            throw new BadRequestException("Upload incomplete, missing parts: " + missing
+                    + (session.getPartCount() - parts.size() > missing.size() ? " …" : ""));
+        }
+        try {
+            multipartClient.completeMultipartUpload(rawBucket, session.getObjectName(), session.getS3UploadId(),
+                    parts.stream().map(p -> new Part(p.getPartNumber(), p.getEtag())).toArray(Part[]::new));
+        } catch (Exception e) {
+            if (!isAssembled(session)) {
+                log.error("Failed to complete multipart upload for session {}", id, e);
+                throw new RuntimeException("Could not complete upload: " + e.getMessage(), e);
+            }
+            log.info("Upload session {} was already assembled by an earlier attempt", id);
+        }
+
+        ContentDigest digest = documentService.digest(session.getObjectName());
+        return transactionTemplate.execute(status -> {
+            UploadSession locked = sessionRepository.findByIdForUpdate(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Upload session not found: " + id));
+            if (locked.getStatus() == UploadSessionStatus.COMPLETED) {
+                return documentService.getDocument(locked.getDocumentId());
+            }
+            requireActive(locked);
+            DocumentResponse document = documentService.createFromUpload(locked.getRevisionId(), locked.getFileName(),
+                    locked.getObjectName(), digest);
+            locked.setStatus(UploadSessionStatus.COMPLETED);
+            locked.setDocumentId(document.getId());
+            sessionRepository.save(locked);
+            log.info("Completed upload session {} as document {}", id, document.getId());
+            return document;
+        });
+    }
+
+    @Transactional
+    public void abort(UUID id) {
+        UploadSession session = sessionRepository.findByIdForUpdate(id)
+                .filter(this::ownedByCurrentUser)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload session not found: " + id));
+        if (session.getStatus() == UploadSessionStatus.COMPLETED) {
+            throw new ConflictException("Upload session is already completed: " + id);
+        }
+        if (session.getStatus() == UploadSessionStatus.ACTIVE) {
+            abortInStorage(session);
+            session.setStatus(UploadSessionStatus.ABORTED);
+            sessionRepository.save(session);
+        }
+    }
+
+    /** Aborts sessions past their TTL and forgets finished ones after another TTL. */
+    @Scheduled(cron = "${plm.uploads.cleanup-cron:0 */15 * * * *}")
+    public void expireSessions() {
+        LocalDateTime now = LocalDateTime.now();
+        List<UploadSession> expired;
+        do {
+            expired = sessionRepository.findTop100ByStatusAndExpiresAtBefore(UploadSessionStatus.ACTIVE, now);
+            for (UploadSession session : expired) {
+                abortInStorage(session);
+                session.setStatus(UploadSessionStatus.ABORTED);
+                sessionRepository.save(session);
+            }
+            if (!expired.isEmpty()) {
+                log.info("Aborted {} expired upload sessions", expired.size());
+            }
+        } while (expired.size() == 100);
+        sessionRepository.deleteFinishedBefore(now.minus(sessionTtl));
+    }
+
+    private void recordPart(UUID sessionId, int partNumber, long size, String etag) {
+        UploadSessionPart part = partRepository.findBySessionIdAndPartNumber(sessionId, partNumber)
+                .orElseGet(() -> UploadSessionPart.builder().sessionId(sessionId).partNumber(partNumber).build());
+        part.setSizeBytes(size);
+        part.setEtag(etag);
+        try {
+            partRepository.save(part);
+        } catch (DataIntegrityViolationException e) {
+            // the same part was retried concurrently; keep the ETag of the upload that finished last
+            UploadSessionPart existing = partRepository.findBySessionIdAndPartNumber(sessionId, partNumber)
+                    .orElseThrow(() -> e);
+            existing.setSizeBytes(size);
+            existing.setEtag(etag);
+            partRepository.save(existing);
+        }
+    }
+
+    private void abortInStorage(UploadSession session) {
+        try {
+            multipartClient.abortMultipartUpload(rawBucket, session.getObjectName(), session.getS3UploadId());
+        } catch (Exception e) {
+            log.warn("Failed to abort multipart upload for session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    /** Whether the session's object already exists with the full size, i.e. the parts were assembled. */
+    private boolean isAssembled(UploadSession session) {
+        try {
+            return minioClient.statObject(StatObjectArgs.builder()
+                    .bucket(rawBucket)
+                    .object(session.getObjectName())
+                    .build()).size() == session.getTotalSize();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private UploadSession findOwned(UUID id) {
+        return sessionRepository.findById(id)
+                .filter(this::ownedByCurrentUser)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload session not found: " + id));
+    }
+
+    private void requireActive(UploadSession session) {
+        if (session.getStatus() != UploadSessionStatus.ACTIVE) {
+            throw new ConflictException("Upload session is " + session.getStatus().name().toLowerCase() + ": " + session.getId());
+        }
+        if (session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new ConflictException("Upload session has expired: " + session.getId());
+        }
+    }
+
+    private boolean ownedByCurrentUser(UploadSession session) {
+        return Objects.equals(session.getCreatedBy(), currentUser());
+    }
+
+    private void ensureBucketExists() throws Exception {
+        if (!minioClient.bucketExists(BucketExistsArgs.builder().bucket(rawBucket).build())) {
+            minioClient.makeBucket(MakeBucketArgs.builder().bucket(rawBucket).build());
+        }
+    }
+
+    private static String currentUser() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null ? auth.getName() : "unknown";
+    }
+
+    private static UploadSessionResponse toResponse(UploadSession s, List<UploadSessionPart> parts) {
+        UploadSessionResponse resp = new UploadSessionResponse();
+        resp.setId(s.getId());
+        resp.setRevisionId(s.getRevisionId());
+        resp.setFileName(s.getFileName());
+        resp.setTotalSize(s.getTotalSize());
+        resp.setChunkSize(s.getChunkSize());
+        resp.setPartCount(s.getPartCount());
+        resp.setStatus(s.getStatus());
+        resp.setUploadedParts(parts.stream().map(UploadSessionPart::getPartNumber).toList());
+        resp.setDocumentId(s.getDocumentId());
+        resp.setExpiresAt(s.getExpiresAt());
+        return resp;
+    }
+}
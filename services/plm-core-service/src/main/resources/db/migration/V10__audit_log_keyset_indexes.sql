@@ -0,0 +1,9 @@
+-- Keyset pagination and filtered exports over audit_log (GET /api/audit-log/page, /export).
+-- Pages walk (created_at DESC, id DESC); each filter gets a composite index leading with the
+-- filter column so a filtered page is an index range scan, not a sort of the whole window.
+-- Indexes on the partitioned parent cascade to every existing and future monthly partition.
+DROP INDEX IF EXISTS idx_audit_created;
+CREATE INDEX IF NOT EXISTS idx_audit_created_id      ON audit_log(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_username_created ON audit_log(username, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_action_created   ON audit_log(action, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_type_created     ON audit_log(entity_type, created_at DESC, id DESC);
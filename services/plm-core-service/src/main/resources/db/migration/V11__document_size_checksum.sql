@@ -0,0 +1,3 @@
+-- Size and SHA-256 of the raw upload, computed while it streams into MinIO
+ALTER TABLE documents ADD COLUMN IF NOT EXISTS size_bytes     BIGINT;
+ALTER TABLE documents ADD COLUMN IF NOT EXISTS content_sha256 VARCHAR(64);
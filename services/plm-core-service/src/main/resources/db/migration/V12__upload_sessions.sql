@@ -0,0 +1,30 @@
+-- Resumable chunked uploads: one row per session, one row per received part. Each session
+-- maps onto a MinIO/S3 multipart upload; the document row is only created on completion.
+CREATE TABLE IF NOT EXISTS upload_sessions (
+    id            UUID PRIMARY KEY,
+    revision_id   BIGINT       NOT NULL REFERENCES revisions(id) ON DELETE CASCADE,
+    file_name     VARCHAR(255) NOT NULL,
+    content_type  VARCHAR(255),
+    total_size    BIGINT       NOT NULL,
+    chunk_size    BIGINT       NOT NULL,
+    part_count    INT          NOT NULL,
+    object_name   VARCHAR(1024) NOT NULL,
+    s3_upload_id  VARCHAR(1024) NOT NULL,
+    status        VARCHAR(20)  NOT NULL,
+    created_by    VARCHAR(100),
+    document_id   BIGINT REFERENCES documents(id) ON DELETE SET NULL,
+    created_at    TIMESTAMP    NOT NULL DEFAULT NOW(),
+    updated_at    TIMESTAMP    NOT NULL DEFAULT NOW(),
+    expires_at    TIMESTAMP    NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_upload_sessions_expiry ON upload_sessions(expires_at) WHERE status = 'ACTIVE';
+
+CREATE TABLE IF NOT EXISTS upload_session_parts (
+    id           BIGSERIAL PRIMARY KEY,
+    session_id   UUID    NOT NULL REFERENCES upload_sessions(id) ON DELETE CASCADE,
+    part_number  INT     NOT NULL,
+    size_bytes   BIGINT  NOT NULL,
+    etag         VARCHAR(255) NOT NULL,
+    uploaded_at  TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT uq_upload_session_part UNIQUE (session_id, part_number)
+);
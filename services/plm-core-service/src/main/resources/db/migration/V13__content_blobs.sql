@@ -0,0 +1,13 @@
+-- Content-addressed storage: one row per distinct raw upload, keyed by its SHA-256. Documents
+-- whose file_path is a blob's object_path share that object (and its converted GLB); the
+-- objects are removed when the last referencing document is deleted.
+CREATE TABLE IF NOT EXISTS content_blobs (
+    sha256       VARCHAR(64)   PRIMARY KEY,
+    object_path  VARCHAR(1024) NOT NULL UNIQUE,
+    size_bytes   BIGINT        NOT NULL,
+    ref_count    INT           NOT NULL CHECK (ref_count > 0),
+    gltf_path    VARCHAR(1024),
+    created_at   TIMESTAMP     NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_documents_content_sha256 ON documents(content_sha256);
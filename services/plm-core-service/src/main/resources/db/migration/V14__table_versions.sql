@@ -0,0 +1,29 @@
+-- Change counters for whole-table conditional GETs. A statement-level trigger bumps the row
+-- in the writer's transaction, so the new version becomes visible together with the data
+-- it stamps; reading it is a primary-key lookup instead of a COUNT(*) over the table.
+CREATE TABLE IF NOT EXISTS table_versions (
+    table_name  VARCHAR(63) PRIMARY KEY,
+    version     BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO table_versions (table_name) VALUES ('items'), ('revisions'), ('bom_links')
+ON CONFLICT (table_name) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION bump_table_version() RETURNS trigger AS $$
+BEGIN
+    UPDATE table_versions SET version = version + 1 WHERE table_name = TG_TABLE_NAME;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_items_version ON items;
+CREATE TRIGGER trg_items_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON items
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version();
+
+DROP TRIGGER IF EXISTS trg_revisions_version ON revisions;
+CREATE TRIGGER trg_revisions_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON revisions
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version();
+
+DROP TRIGGER IF EXISTS trg_bom_links_version ON bom_links;
+CREATE TRIGGER trg_bom_links_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON bom_links
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version();
@@ -0,0 +1,11 @@
+-- Single-relay lease for the item event outbox. The relay renews it with one autocommit
+-- UPDATE per batch instead of holding a transaction (and an advisory lock) open while it
+-- waits for broker acknowledgements; another replica takes over once it expires.
+CREATE TABLE IF NOT EXISTS outbox_relay_lease (
+    name        VARCHAR(50) PRIMARY KEY,
+    owner       VARCHAR(64),
+    expires_at  TIMESTAMP NOT NULL
+);
+
+INSERT INTO outbox_relay_lease (name, owner, expires_at) VALUES ('item-events', NULL, TIMESTAMP '1970-01-01 00:00:00')
+ON CONFLICT (name) DO NOTHING;
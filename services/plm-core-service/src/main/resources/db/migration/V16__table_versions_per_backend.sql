@@ -0,0 +1,19 @@
+-- One change counter per table and database session instead of one per table. A single
+-- counter row stayed locked by the writing transaction until it committed, so every writer
+-- of a table queued behind it (and writers touching two tables in opposite orders could
+-- deadlock on the rows). Each session now upserts only its own row, keyed by its backend
+-- pid, which no other live session shares; a table's version is the sum of its rows. The
+-- increments still commit together with the data they stamp, so the sum only grows once a
+-- change is visible. Rows are bounded by the number of distinct backend pids.
+ALTER TABLE table_versions ADD COLUMN IF NOT EXISTS backend_pid INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE table_versions DROP CONSTRAINT IF EXISTS table_versions_pkey;
+ALTER TABLE table_versions ADD PRIMARY KEY (table_name, backend_pid);
+
+CREATE OR REPLACE FUNCTION bump_table_version() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO table_versions (table_name, backend_pid, version)
+    VALUES (TG_TABLE_NAME, pg_backend_pid(), 1)
+    ON CONFLICT (table_name, backend_pid) DO UPDATE SET version = table_versions.version + 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
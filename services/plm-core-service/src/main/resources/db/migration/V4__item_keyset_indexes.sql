@@ -0,0 +1,3 @@
+-- Keyset pagination over items (GET /api/items/page)
+CREATE INDEX IF NOT EXISTS idx_items_updated_id    ON items(updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_items_lifecycle_id  ON items(lifecycle_state, id);
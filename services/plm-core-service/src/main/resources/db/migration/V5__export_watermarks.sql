@@ -0,0 +1,6 @@
+-- updated_at watermarks for incremental NDJSON exports (GET /api/*/export?updatedSince=)
+ALTER TABLE revisions ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT NOW();
+ALTER TABLE bom_links ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT NOW();
+
+CREATE INDEX IF NOT EXISTS idx_revisions_updated_id ON revisions(updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_bom_links_updated_id ON bom_links(updated_at, id);
@@ -0,0 +1,2 @@
+-- Upward BOM traversal (where-used) walks bom_links by child; the unique key only covers (parent, child)
+CREATE INDEX IF NOT EXISTS idx_bom_links_child ON bom_links(child_revision_id, parent_revision_id);
@@ -0,0 +1,12 @@
+-- Ranked item search (GET /api/items/search): weighted tsvector + trigram indexes for fuzzy item numbers
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', item_number), 'A') ||
+    setweight(to_tsvector('english', name), 'B') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'C')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_items_search_vector ON items USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS idx_items_number_trgm   ON items USING gin (item_number gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm     ON items USING gin (name gin_trgm_ops);
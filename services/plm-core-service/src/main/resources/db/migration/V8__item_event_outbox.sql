@@ -0,0 +1,14 @@
+-- Transactional outbox for plm.item-events: rows are written in the item write's transaction
+-- and drained to Kafka in id order by ItemEventOutboxRelay
+CREATE TABLE IF NOT EXISTS item_event_outbox (
+    id          BIGSERIAL PRIMARY KEY,
+    event_key   VARCHAR(50) NOT NULL,
+    event_type  VARCHAR(50) NOT NULL,
+    payload     TEXT NOT NULL,
+    created_at  TIMESTAMP NOT NULL DEFAULT NOW(),
+    sent_at     TIMESTAMP
+);
+
+-- Relay scan (pending rows in id order) and purge of delivered rows
+CREATE INDEX IF NOT EXISTS idx_item_event_outbox_pending ON item_event_outbox(id) WHERE sent_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_item_event_outbox_sent_at ON item_event_outbox(sent_at) WHERE sent_at IS NOT NULL;
@@ -0,0 +1,46 @@
+-- Monthly range partitioning for audit_log. Partitions are named audit_log_yYYYYmMM;
+-- AuditLogRetentionJob keeps a few months ahead created and archives/drops expired ones.
+
+CREATE OR REPLACE FUNCTION create_audit_log_partition(month DATE) RETURNS TEXT AS $$
+DECLARE
+    start_at DATE := date_trunc('month', month)::DATE;
+    name     TEXT := format('audit_log_y%sm%s', to_char(start_at, 'YYYY'), to_char(start_at, 'MM'));
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_log FOR VALUES FROM (%L) TO (%L)',
+                   name, start_at, (start_at + INTERVAL '1 month')::DATE);
+    RETURN name;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE audit_log RENAME TO audit_log_unpartitioned;
+ALTER SEQUENCE audit_log_id_seq OWNED BY NONE;
+DROP INDEX IF EXISTS idx_audit_entity;
+DROP INDEX IF EXISTS idx_audit_created;
+
+-- The partition key has to be part of the primary key
+CREATE TABLE audit_log (
+    id          BIGINT NOT NULL DEFAULT nextval('audit_log_id_seq'),
+    username    VARCHAR(100),
+    action      VARCHAR(100) NOT NULL,
+    entity_type VARCHAR(50)  NOT NULL,
+    entity_id   BIGINT,
+    details     VARCHAR(500),
+    created_at  TIMESTAMP NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+ALTER SEQUENCE audit_log_id_seq OWNED BY audit_log.id;
+
+CREATE INDEX IF NOT EXISTS idx_audit_entity  ON audit_log(entity_type, entity_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_created ON audit_log(created_at DESC);
+
+-- One partition per month of existing data, plus the current month and three ahead
+SELECT create_audit_log_partition(m::DATE)
+FROM generate_series(
+        date_trunc('month', LEAST(COALESCE((SELECT MIN(created_at) FROM audit_log_unpartitioned), NOW()), NOW())),
+        date_trunc('month', NOW()) + INTERVAL '3 months',
+        INTERVAL '1 month') AS m;
+
+INSERT INTO audit_log (id, username, action, entity_type, entity_id, details, created_at)
+SELECT id, username, action, entity_type, entity_id, details, created_at FROM audit_log_unpartitioned;
+
+DROP TABLE audit_log_unpartitioned;
@@ -0,0 +1,99 @@
+package com.plm.aspect;
+
+import com.plm.dto.ItemRequest;
+import com.plm.dto.ItemResponse;
+import com.plm.service.ItemService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of turning an audited invocation into (action, entityType, entityId, details).
+ * {@code reflective} is the previous implementation (getMethod/invoke, class-name matching,
+ * DTO toString); {@code registry} is the current {@link AuditAspect.AuditTarget} lookup.
+ * Run {@link #main} from the IDE, or with the test classpath on the command line.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditAspectBenchmark {
+
+    private final Map<Method, AuditAspect.AuditTarget> targets = new ConcurrentHashMap<>();
+    private Method method;
+    private Object[] args;
+    private ItemResponse result;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        method = ItemService.class.getMethod("updateItem", Long.class, ItemRequest.class);
+        ItemRequest request = new ItemRequest();
+        request.setItemNumber("ITM-000042");
+        request.setName("Bracket, left-hand, anodised");
+        request.setDescription("Machined 6061 bracket for the main frame assembly");
+        args = new Object[]{42L, request};
+        result = new ItemResponse(42L, "ITM-000042", request.getName(), request.getDescription(), null, null, null);
+    }
+
+    @Benchmark
+    public void reflective(Blackhole bh) {
+        bh.consume(LegacyResolution.entityType(method.getDeclaringClass().getName()));
+        bh.consume(LegacyResolution.id(result, args));
+        bh.consume(LegacyResolution.details(method.getName(), args));
+    }
+
+    @Benchmark
+    public void registry(Blackhole bh) {
+        AuditAspect.AuditTarget target = targets.computeIfAbsent(method, AuditAspect.AuditTarget::of);
+        bh.consume(target.entityType());
+        bh.consume(target.resolveId(result, args));
+        bh.consume(target.details(args));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AuditAspectBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /** The resolution logic AuditAspect used before the registry, kept as the baseline. */
+    private static final class LegacyResolution {
+
+        static String entityType(String className) {
+            if (className.contains("Item")) return "Item";
+            if (className.contains("Revision")) return "Revision";
+            if (className.contains("Document")) return "Document";
+            if (className.contains("ChangeRequest")) return "ChangeRequest";
+            return "Unknown";
+        }
+
+        static Long id(Object result, Object[] args) {
+            if (result != null) {
+                try {
+                    Method getId = result.getClass().getMethod("getId");
+                    Object id = getId.invoke(result);
+                    if (id instanceof Long l) return l;
+                } catch (Exception ignored) {}
+            }
+            for (Object arg : args) {
+                if (arg instanceof Long l) return l;
+            }
+            return null;
+        }
+
+        static String details(String method, Object[] args) {
+            if (args.length > 0 && args[0] != null) {
+                String first = args[0].toString();
+                return method + ": " + (first.length() > 100 ? first.substring(0, 100) + "…" : first);
+            }
+            return method;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.plm.aspect;
+
+import com.plm.dto.DocumentResponse;
+import com.plm.dto.ItemRequest;
+import com.plm.dto.ItemResponse;
+import com.plm.service.AuditLogService;
+import com.plm.service.DocumentService;
+import com.plm.service.ItemService;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.lang.reflect.Method;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditAspectTest {
+
+    @Mock
+    private AuditLogService auditLogService;
+
+    @InjectMocks
+    private AuditAspect auditAspect;
+
+    @Test
+    void takesIdFromResultAndSummaryFromRequest() throws Exception {
+        ItemRequest request = new ItemRequest();
+        request.setItemNumber("ITM-001");
+        ItemResponse result = new ItemResponse(7L, "ITM-001", "Bracket", null, null, null, null);
+
+        auditAspect.afterReturning(joinPoint(ItemService.class.getMethod("createItem", ItemRequest.class), request), result);
+
+        verify(auditLogService).log("createItem", "Item", 7L, "createItem: ITM-001");
+    }
+
+    @Test
+    void voidMethod_fallsBackToLongArgument() throws Exception {
+        auditAspect.afterReturning(joinPoint(ItemService.class.getMethod("deleteItem", Long.class), 5L), null);
+
+        verify(auditLogService).log("deleteItem", "Item", 5L, "deleteItem: 5");
+    }
+
+    @Test
+    void skipsArgumentsWithoutASummary() throws Exception {
+        Method upload = DocumentService.class.getMethod("uploadDocument", Long.class, MultipartFile.class);
+        DocumentResponse result = new DocumentResponse();
+        result.setId(11L);
+
+        auditAspect.afterReturning(joinPoint(upload, 3L, mock(MultipartFile.class)), result);
+
+        verify(auditLogService).log("uploadDocument", "Document", 11L, "uploadDocument: 3");
+    }
+
+    private static JoinPoint joinPoint(Method method, Object... args) {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(method);
+        JoinPoint jp = mock(JoinPoint.class);
+        when(jp.getSignature()).thenReturn(signature);
+        when(jp.getArgs()).thenReturn(args);
+        return jp;
+    }
+}
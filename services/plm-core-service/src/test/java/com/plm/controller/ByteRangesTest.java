@@ -0,0 +1,122 @@
+package com.plm.controller;
+
+import com.plm.dto.StoredObject;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ByteRangesTest {
+
+    private static final byte[] CONTENT = new byte[100];
+
+    static {
+        for (int i = 0; i < CONTENT.length; i++) CONTENT[i] = (byte) ('a' + i % 26);
+    }
+
+    private static final StoredObject FILE = new StoredObject("gltf", "revisions/3/x_bracket.glb", "bracket.glb",
+            "model/gltf-binary", CONTENT.length, "abc", ZonedDateTime.of(2024, 5, 1, 10, 30, 0, 0, ZoneOffset.UTC));
+
+    private final List<long[]> reads = new ArrayList<>();
+
+    @Test
+    void noRange_returnsWholeFileAdvertisingRanges() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = ByteRanges.serve(get(null, null), FILE, this::open);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(100);
+        assertThat(body(response)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void singleRange_returns206WithOnlyThoseBytes() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = ByteRanges.serve(get("bytes=10-19", null), FILE, this::open);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(206);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 10-19/100");
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(10);
+        assertThat(body(response)).containsExactly(slice(10, 10));
+        assertThat(reads).singleElement().satisfies(r -> assertThat(r).containsExactly(10, 10));
+    }
+
+    @Test
+    void suffixRange_returnsTail() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = ByteRanges.serve(get("bytes=-5", null), FILE, this::open);
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 95-99/100");
+        assertThat(body(response)).containsExactly(slice(95, 5));
+    }
+
+    @Test
+    void multipleRanges_returnMultipartWithExactContentLength() throws Exception {
+        ResponseEntity<StreamingResponseBody> response =
+                ByteRanges.serve(get("bytes=0-4,50-54,3-7", null), FILE, this::open);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(206);
+        assertThat(response.getHeaders().getContentType().toString()).startsWith("multipart/byteranges;boundary=");
+        byte[] body = body(response);
+        assertThat((long) body.length).isEqualTo(response.getHeaders().getContentLength());
+        String text = new String(body, StandardCharsets.US_ASCII);
+        assertThat(text).contains("Content-Range: bytes 0-7/100").contains("Content-Range: bytes 50-54/100");
+        assertThat(reads).hasSize(2);
+    }
+
+    @Test
+    void unsatisfiableRange_returns416() {
+        ResponseEntity<StreamingResponseBody> response = ByteRanges.serve(get("bytes=200-300", null), FILE, this::open);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(416);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */100");
+        assertThat(reads).isEmpty();
+    }
+
+    @Test
+    void staleIfRange_returnsWholeFile() throws Exception {
+        ResponseEntity<StreamingResponseBody> stale = ByteRanges.serve(get("bytes=10-19", "\"old\""), FILE, this::open);
+        ResponseEntity<StreamingResponseBody> current = ByteRanges.serve(get("bytes=10-19", "\"abc\""), FILE, this::open);
+        ResponseEntity<StreamingResponseBody> byDate =
+                ByteRanges.serve(get("bytes=10-19", "Wed, 01 May 2024 10:30:00 GMT"), FILE, this::open);
+
+        assertThat(stale.getStatusCode().value()).isEqualTo(200);
+        assertThat(body(stale)).isEqualTo(CONTENT);
+        assertThat(current.getStatusCode().value()).isEqualTo(206);
+        assertThat(byDate.getStatusCode().value()).isEqualTo(206);
+    }
+
+    private MockHttpServletRequest get(String range, String ifRange) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/documents/5/file");
+        if (range != null) request.addHeader(HttpHeaders.RANGE, range);
+        if (ifRange != null) request.addHeader(HttpHeaders.IF_RANGE, ifRange);
+        return request;
+    }
+
+    private ByteArrayInputStream open(long offset, long length) {
+        reads.add(new long[]{offset, length});
+        int len = length < 0 ? CONTENT.length - (int) offset : (int) length;
+        return new ByteArrayInputStream(CONTENT, (int) offset, len);
+    }
+
+    private static byte[] slice(int offset, int length) {
+        byte[] out = new byte[length];
+        System.arraycopy(CONTENT, offset, out, 0, length);
+        return out;
+    }
+
+    private static byte[] body(ResponseEntity<StreamingResponseBody> response) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toByteArray();
+    }
+}
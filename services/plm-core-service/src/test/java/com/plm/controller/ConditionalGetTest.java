@@ -0,0 +1,76 @@
+package com.plm.controller;
+
+import com.plm.repository.VersionWatermark;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ConditionalGetTest {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2024, 5, 1, 10, 30);
+
+    @Test
+    void collection_matchingEtag_returns304WithoutLoadingBody() {
+        AtomicInteger loads = new AtomicInteger();
+        ResponseEntity<List<String>> first = ConditionalGet.collection(get(null), watermark(3, UPDATED),
+                () -> { loads.incrementAndGet(); return List.of("a"); });
+        String etag = first.getHeaders().getETag();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResponseEntity<List<String>> second = ConditionalGet.collection(get(etag, response), watermark(3, UPDATED),
+                () -> { loads.incrementAndGet(); return List.of("a"); });
+
+        assertThat(second).isNull();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void collection_deletionChangesEtagEvenIfTimestampDoesNot() {
+        String before = ConditionalGet.collection(get(null), watermark(3, UPDATED), List::of).getHeaders().getETag();
+
+        ResponseEntity<List<String>> after = ConditionalGet.collection(get(before), watermark(2, UPDATED), List::of);
+
+        assertThat(after.getStatusCode().value()).isEqualTo(200);
+        assertThat(after.getHeaders().getETag()).isNotEqualTo(before);
+    }
+
+    @Test
+    void resource_setsLastModifiedAndHonoursIfNoneMatch() {
+        ResponseEntity<String> first = ConditionalGet.resource(get(null), 7L, UPDATED, () -> "item");
+        assertThat(first.getHeaders().getLastModified()).isPositive();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(ConditionalGet.resource(get(first.getHeaders().getETag(), response), 7L, UPDATED, () -> "item")).isNull();
+        assertThat(response.getStatus()).isEqualTo(304);
+
+        ResponseEntity<String> changed = ConditionalGet.resource(get(first.getHeaders().getETag()), 7L,
+                UPDATED.plusSeconds(5), () -> "item");
+        assertThat(changed.getStatusCode().value()).isEqualTo(200);
+    }
+
+    private static ServletWebRequest get(String ifNoneMatch) {
+        return get(ifNoneMatch, new MockHttpServletResponse());
+    }
+
+    private static ServletWebRequest get(String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items");
+        if (ifNoneMatch != null) request.addHeader("If-None-Match", ifNoneMatch);
+        return new ServletWebRequest(request, response);
+    }
+
+    private static VersionWatermark watermark(long count, LocalDateTime lastModified) {
+        return new VersionWatermark() {
+            @Override public long getCount() { return count; }
+            @Override public LocalDateTime getLastModified() { return lastModified; }
+        };
+    }
+}
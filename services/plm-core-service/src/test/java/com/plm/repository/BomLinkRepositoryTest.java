@@ -0,0 +1,72 @@
+package com.plm.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BomLinkRepositoryTest {
+
+    @Autowired
+    private BomLinkRepository bomLinkRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    /**
+     * 1 uses siblings 2 and 20, and 2 uses 5. As '/'-joined strings under a linguistic
+     * collation "1/20" sorts before "1/2/5", splitting the subtree of 2.
+     */
+    @BeforeEach
+    void setUp() {
+        for (long id : new long[]{1, 2, 5, 20}) {
+            jdbc.update("INSERT INTO items (id, item_number, name, lifecycle_state, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, 'DRAFT', NOW(), NOW())", id, "P-" + id, "Part " + id);
+            jdbc.update("INSERT INTO revisions (id, item_id, revision_code, status, created_at, updated_at) "
+                    + "VALUES (?, ?, 'A', 'IN_WORK', NOW(), NOW())", id, id);
+        }
+        link(1, 20);
+        link(1, 2);
+        link(2, 5);
+    }
+
+    @Test
+    void explode_siblingIds2And20_staysDepthFirst() {
+        List<String> paths = bomLinkRepository.explode(1L, 10).stream().map(BomTreeRow::getPath).toList();
+
+        assertThat(paths).containsExactly("1/2", "1/2/5", "1/20");
+    }
+
+    @Test
+    void whereUsed_ordersPathsNumerically() {
+        link(20, 5);
+
+        List<String> paths = bomLinkRepository.whereUsed(5L, 10).stream().map(WhereUsedRow::getPath).toList();
+
+        assertThat(paths).containsExactly("5/2", "5/2/1", "5/20", "5/20/1");
+    }
+
+    @Test
+    void whereUsed_stopsAtCycles() {
+        link(5, 2);
+
+        List<String> paths = bomLinkRepository.whereUsed(5L, 10).stream().map(WhereUsedRow::getPath).toList();
+
+        assertThat(paths).containsExactly("5/2", "5/2/1");
+    }
+
+    private void link(long parentId, long childId) {
+        jdbc.update("INSERT INTO bom_links (parent_revision_id, child_revision_id, quantity, updated_at) "
+                + "VALUES (?, ?, 1, NOW())", parentId, childId);
+    }
+}
@@ -0,0 +1,101 @@
+package com.plm.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.plm.dto.CursorPage;
+import com.plm.entity.AuditLog;
+import com.plm.exception.BadRequestException;
+import com.plm.repository.AuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogServiceTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2024, 3, 1, 12, 0, 0, 123456000);
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
+    private AuditLogService auditLogService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        auditLogService = new AuditLogService(auditLogRepository, auditLogWriter, objectMapper, Duration.ofDays(30));
+    }
+
+    @Test
+    void listPage_fullPage_resumesBeforeLastKey() {
+        LocalDateTime to = T.plusDays(1);
+        AuditLog a = entry(9L, T.plusHours(1), "a,b");
+        AuditLog b = entry(7L, T, null);
+        when(auditLogRepository.findPage(to, Long.MIN_VALUE, to.minusDays(30), "alice", null, null, Limit.of(2)))
+                .thenReturn(List.of(a, b));
+        when(auditLogRepository.findPage(T, 7L, to.minusDays(30), "alice", null, null, Limit.of(2)))
+                .thenReturn(List.of());
+
+        CursorPage<AuditLog> first = auditLogService.listPage(null, 2, "alice", " ", null, null, to);
+        CursorPage<AuditLog> second = auditLogService.listPage(first.nextCursor(), 2, "alice", null, null, null, to);
+
+        assertThat(first.items()).hasSize(2);
+        assertThat(second.items()).isEmpty();
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void listPage_invalidCursor_throwsBadRequest() {
+        assertThatThrownBy(() -> auditLogService.listPage("bm9waXBl", 10, null, null, null, null, null))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(auditLogRepository);
+    }
+
+    @Test
+    void export_csv_quotesFieldsAndWritesHeader() throws Exception {
+        when(auditLogRepository.streamForExport(any(), any(), isNull(), eq("DELETE"), isNull()))
+                .thenReturn(Stream.of(entry(1L, T, "said \"hi\", left")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        auditLogService.export("csv", null, "DELETE", null, T.minusDays(1), T.plusDays(1), out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(AuditLogCsv.HEADER
+                + "1,alice,DELETE,Item,42,\"said \"\"hi\"\", left\",2024-03-01T12:00:00.123456\n");
+    }
+
+    @Test
+    void export_ndjson_writesOneObjectPerLine() throws Exception {
+        when(auditLogRepository.streamForExport(any(), any(), any(), any(), any()))
+                .thenReturn(Stream.of(entry(1L, T, null), entry(2L, T, null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        auditLogService.export("ndjson", null, null, null, null, null, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n"))
+                .hasSize(2)
+                .allSatisfy(line -> assertThat(line).startsWith("{\"id\":").contains("\"action\":\"DELETE\""));
+    }
+
+    private static AuditLog entry(Long id, LocalDateTime createdAt, String details) {
+        return new AuditLog(id, "alice", "DELETE", "Item", 42L, details, createdAt);
+    }
+}
@@ -0,0 +1,131 @@
+package com.plm.service;
+
+import com.plm.entity.AuditLog;
+import com.plm.service.AuditLogWriter.Mode;
+import com.plm.service.AuditLogWriter.OverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void async_queuedEntriesAreWrittenInOneBatch() {
+        AuditLogWriter writer = writer(Mode.ASYNC, OverflowPolicy.CALLER_RUNS, 10);
+        writer.submit(entry("createItem"));
+        writer.submit(entry("updateItem"));
+        writer.submit(entry("deleteItem"));
+
+        verifyNoInteractions(jdbcTemplate);
+        assertThat(meterRegistry.get("audit.queue.depth").gauge().value()).isEqualTo(3.0);
+
+        assertThat(writer.flush()).isEqualTo(3);
+
+        ArgumentCaptor<List<AuditLog>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(batch.getValue()).extracting(AuditLog::getAction).containsExactly("createItem", "updateItem", "deleteItem");
+        assertThat(meterRegistry.get("audit.queue.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fullQueue_dropPolicy_discardsAndCounts() {
+        AuditLogWriter writer = writer(Mode.ASYNC, OverflowPolicy.DROP, 1);
+        writer.submit(entry("createItem"));
+        writer.submit(entry("updateItem"));
+
+        verifyNoInteractions(jdbcTemplate);
+        assertThat(meterRegistry.get("audit.entries").tag("outcome", "dropped").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fullQueue_callerRunsPolicy_writesOnCallingThread() {
+        AuditLogWriter writer = writer(Mode.ASYNC, OverflowPolicy.CALLER_RUNS, 1);
+        writer.submit(entry("createItem"));
+        writer.submit(entry("updateItem"));
+
+        ArgumentCaptor<List<AuditLog>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(batch.getValue()).extracting(AuditLog::getAction).containsExactly("updateItem");
+        assertThat(meterRegistry.get("audit.entries").tag("outcome", "caller-runs").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void syncMode_writesBeforeReturning() {
+        AuditLogWriter writer = writer(Mode.SYNC, OverflowPolicy.DROP, 10);
+        writer.submit(entry("createItem"));
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(writer.flush()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void drainLoop_entryThatNeverWrites_isIsolatedAndDroppedOnce() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(inv -> {
+                    List<AuditLog> batch = inv.getArgument(1);
+                    if (batch.stream().anyMatch(e -> e.getAction().equals("poison"))) {
+                        throw new DataIntegrityViolationException("value too long");
+                    }
+                    return new int[0][];
+                });
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, meterRegistry, Mode.ASYNC, OverflowPolicy.CALLER_RUNS,
+                10, 500, Duration.ofMillis(1), Duration.ofMillis(1));
+        for (String action : List.of("createItem", "poison", "updateItem", "deleteItem")) {
+            writer.submit(entry(action));
+        }
+
+        writer.start();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (outcome("written") < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        writer.stop();
+
+        assertThat(outcome("written")).isEqualTo(3.0);
+        assertThat(outcome("failed")).isEqualTo(1.0);
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("audit.entries").tag("outcome", outcome).counter().count();
+    }
+
+    private AuditLogWriter writer(Mode mode, OverflowPolicy policy, int capacity) {
+        return new AuditLogWriter(jdbcTemplate, meterRegistry, mode, policy, capacity, 500,
+                Duration.ofMillis(200), Duration.ofMillis(1));
+    }
+
+    private static AuditLog entry(String action) {
+        return AuditLog.builder()
+                .username("alice")
+                .action(action)
+                .entityType("Item")
+                .entityId(1L)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
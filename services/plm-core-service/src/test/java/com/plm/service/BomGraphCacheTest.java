@@ -0,0 +1,63 @@
+package com.plm.service;
+
+import com.plm.dto.BomChangeMessage;
+import com.plm.repository.BomLinkRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BomGraphCacheTest {
+
+    @Mock
+    private BomLinkRepository bomLinkRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BomGraphCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new BomGraphCache(bomLinkRepository, kafkaTemplate, meterRegistry, 1000, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void children_secondReadIsServedFromCache() {
+        when(bomLinkRepository.findChildIds(1L)).thenReturn(List.of(2L, 3L));
+
+        assertThat(cache.children(1L)).containsExactly(2L, 3L);
+        assertThat(cache.children(1L)).containsExactly(2L, 3L);
+
+        verify(bomLinkRepository, times(1)).findChildIds(1L);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "bom.children").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void onLocalChange_invalidatesBothSidesAndBroadcasts() {
+        when(bomLinkRepository.findChildIds(1L)).thenReturn(List.of(), List.of(2L));
+        when(bomLinkRepository.findParentIds(2L)).thenReturn(List.of(), List.of(1L));
+        cache.children(1L);
+        cache.parents(2L);
+
+        cache.onLocalChange(new BomChangeMessage(1L, 2L));
+
+        assertThat(cache.children(1L)).containsExactly(2L);
+        assertThat(cache.parents(2L)).containsExactly(1L);
+        verify(kafkaTemplate).send(anyString(), eq("1"), any(BomChangeMessage.class));
+    }
+}
@@ -0,0 +1,109 @@
+package com.plm.service;
+
+import com.plm.dto.BomChangeMessage;
+import com.plm.dto.BomImportResponse;
+import com.plm.dto.BomImportRow;
+import com.plm.dto.BomImportRowResult;
+import com.plm.dto.BomImportRowResult.Status;
+import com.plm.entity.Revision;
+import com.plm.exception.BadRequestException;
+import com.plm.repository.BomEdge;
+import com.plm.repository.BomLinkRepository;
+import com.plm.repository.RevisionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BomImportServiceTest {
+
+    @Mock
+    private BomLinkRepository bomLinkRepository;
+
+    @Mock
+    private RevisionRepository revisionRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BomImportService bomImportService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importLinks_reportsEveryRowAndBatchInsertsOnlyAcceptedOnes() {
+        // Existing structure: 1 -> 2
+        BomEdge existingLink = mock(BomEdge.class);
+        when(existingLink.getParentRevisionId()).thenReturn(1L);
+        when(existingLink.getChildRevisionId()).thenReturn(2L);
+        when(bomLinkRepository.findAncestorIds(any())).thenReturn(List.of());
+        when(revisionRepository.lockAllById(any())).thenReturn(List.of(revision(1L), revision(2L), revision(3L)));
+        when(bomLinkRepository.findEdgesBelow(any())).thenReturn(List.of(existingLink));
+
+        List<BomImportRow> rows = List.of(
+                new BomImportRow(2L, 3L, new BigDecimal("4")),   // created
+                new BomImportRow(1L, 2L, BigDecimal.ONE),        // already exists
+                new BomImportRow(3L, 1L, BigDecimal.ONE),        // 1 -> 2 -> 3 -> 1
+                new BomImportRow(2L, 3L, BigDecimal.ONE),        // repeated in this import
+                new BomImportRow(3L, 99L, BigDecimal.ONE),       // unknown child
+                new BomImportRow(1L, 3L, new BigDecimal("0")));  // invalid quantity
+
+        BomImportResponse response = bomImportService.importLinks(rows);
+
+        assertThat(response.getRows()).extracting(BomImportRowResult::getStatus).containsExactly(
+                Status.CREATED, Status.EXISTS, Status.CYCLE, Status.DUPLICATE, Status.NOT_FOUND, Status.INVALID);
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getRejected()).isEqualTo(5);
+
+        ArgumentCaptor<Collection<BomImportRow>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture(), anyInt(), any());
+        assertThat(batch.getValue()).containsExactly(rows.get(0));
+        verify(eventPublisher).publishEvent(new BomChangeMessage(2L, 3L));
+    }
+
+    @Test
+    void importLinks_tooManyRows_throwsBadRequest() {
+        List<BomImportRow> rows = Collections.nCopies(BomImportService.MAX_IMPORT_ROWS + 1,
+                new BomImportRow(1L, 2L, BigDecimal.ONE));
+        assertThatThrownBy(() -> bomImportService.importLinks(rows))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void parseCsv_skipsHeaderAndDefaultsQuantity() {
+        List<BomImportRow> rows = bomImportService.parseCsv("parent,child,quantity\r\n1,2,3.5\n\n4,5\n");
+
+        assertThat(rows).containsExactly(
+                new BomImportRow(1L, 2L, new BigDecimal("3.5")),
+                new BomImportRow(4L, 5L, BigDecimal.ONE));
+    }
+
+    @Test
+    void parseCsv_malformedLine_throwsBadRequest() {
+        assertThatThrownBy(() -> bomImportService.parseCsv("1,2\n3,x\n"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Line 2");
+    }
+
+    private static Revision revision(Long id) {
+        return Revision.builder().id(id).revisionCode("A").build();
+    }
+}
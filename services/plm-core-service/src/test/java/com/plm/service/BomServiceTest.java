@@ -0,0 +1,257 @@
+package com.plm.service;
+
+import com.plm.dto.BomDiffLineResponse;
+import com.plm.dto.BomLinkRequest;
+import com.plm.dto.BomSummaryLineResponse;
+import com.plm.dto.BomTreeNodeResponse;
+import com.plm.dto.WhereUsedCountResponse;
+import com.plm.dto.WhereUsedNodeResponse;
+import com.plm.entity.BomLink;
+import com.plm.entity.Item;
+import com.plm.entity.Revision;
+import com.plm.exception.BadRequestException;
+import com.plm.exception.ResourceNotFoundException;
+import com.plm.repository.BomDiffRow;
+import com.plm.repository.BomEdge;
+import com.plm.repository.BomLinkRepository;
+import com.plm.repository.BomStructureRow;
+import com.plm.repository.BomTreeRow;
+import com.plm.repository.RevisionRepository;
+import com.plm.repository.WhereUsedRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BomServiceTest {
+
+    @Mock
+    private BomLinkRepository bomLinkRepository;
+
+    @Mock
+    private RevisionRepository revisionRepository;
+
+    @Mock
+    private BomGraphCache bomGraphCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BomService bomService;
+
+    @Test
+    void explode_mapsRowsAndDefaultsToMaxDepth() {
+        BomTreeRow row = mock(BomTreeRow.class);
+        when(row.getChildRevisionId()).thenReturn(3L);
+        when(row.getLevel()).thenReturn(2);
+        when(row.getPath()).thenReturn("1/2/3");
+        when(row.getExtendedQuantity()).thenReturn(new BigDecimal("7.00000000"));
+        when(revisionRepository.existsById(1L)).thenReturn(true);
+        when(bomLinkRepository.explode(1L, BomService.MAX_BOM_DEPTH)).thenReturn(List.of(row));
+
+        List<BomTreeNodeResponse> tree = bomService.explode(1L, null);
+
+        assertThat(tree).hasSize(1);
+        assertThat(tree.get(0).getLevel()).isEqualTo(2);
+        assertThat(tree.get(0).getPath()).isEqualTo("1/2/3");
+        assertThat(tree.get(0).getExtendedQuantity()).isEqualByComparingTo("7");
+    }
+
+    @Test
+    void explode_clampsRequestedDepth() {
+        when(revisionRepository.existsById(1L)).thenReturn(true);
+
+        bomService.explode(1L, 500);
+        bomService.explode(1L, 0);
+
+        verify(bomLinkRepository).explode(1L, BomService.MAX_BOM_DEPTH);
+        verify(bomLinkRepository).explode(1L, 1);
+    }
+
+    @Test
+    void explode_unknownRevision_throwsNotFound() {
+        when(revisionRepository.existsById(99L)).thenReturn(false);
+        assertThatThrownBy(() -> bomService.explode(99L, 3))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void whereUsed_topLevelOnly_keepsEndItemPaths() {
+        WhereUsedRow intermediate = mock(WhereUsedRow.class);
+        when(intermediate.getTopLevel()).thenReturn(false);
+        WhereUsedRow endItem = mock(WhereUsedRow.class);
+        when(endItem.getTopLevel()).thenReturn(true);
+        when(endItem.getParentRevisionId()).thenReturn(1L);
+        when(endItem.getLevel()).thenReturn(2);
+        when(endItem.getPath()).thenReturn("4/2/1");
+        when(revisionRepository.existsById(4L)).thenReturn(true);
+        when(bomLinkRepository.whereUsed(4L, BomService.MAX_BOM_DEPTH)).thenReturn(List.of(intermediate, endItem));
+
+        List<WhereUsedNodeResponse> paths = bomService.whereUsed(4L, null, true);
+
+        assertThat(paths).singleElement().satisfies(node -> {
+            assertThat(node.getParentRevisionId()).isEqualTo(1L);
+            assertThat(node.isTopLevel()).isTrue();
+            assertThat(node.getPath()).isEqualTo("4/2/1");
+        });
+    }
+
+    @Test
+    void countWhereUsed_noRevisions_skipsQuery() {
+        WhereUsedCountResponse count = bomService.countWhereUsed(List.of());
+
+        assertThat(count.assemblies()).isZero();
+        verifyNoInteractions(bomLinkRepository);
+    }
+
+    @Test
+    void countWhereUsed_single_usesCachedGraph() {
+        when(revisionRepository.existsById(4L)).thenReturn(true);
+        when(bomGraphCache.ancestors(4L)).thenReturn(Set.of(1L, 2L, 5L));
+        when(bomGraphCache.parents(1L)).thenReturn(new long[0]);
+        when(bomGraphCache.parents(2L)).thenReturn(new long[]{1L, 5L});
+        when(bomGraphCache.parents(5L)).thenReturn(new long[0]);
+
+        WhereUsedCountResponse count = bomService.countWhereUsed(4L);
+
+        assertThat(count.assemblies()).isEqualTo(3);
+        assertThat(count.endItems()).isEqualTo(2);
+        verifyNoInteractions(bomLinkRepository);
+    }
+
+    @Test
+    void addChild_closingTransitiveLoop_throwsBadRequestWithPath() {
+        Revision a = revision(1L, "ASM-1");
+        Revision c = revision(3L, "PRT-3");
+        when(revisionRepository.findById(3L)).thenReturn(Optional.of(c));
+        when(revisionRepository.findById(1L)).thenReturn(Optional.of(a));
+        // existing structure: 1 -> 2 -> 3; adding 3 -> 1 closes the loop
+        List<BomEdge> fromAssembly = List.of(edge(1L, 2L));
+        List<BomEdge> fromSub = List.of(edge(2L, 3L));
+        when(bomLinkRepository.findEdgesFrom(List.of(1L))).thenReturn(fromAssembly);
+        when(bomLinkRepository.findEdgesFrom(List.of(2L))).thenReturn(fromSub);
+        when(revisionRepository.findAllById(any())).thenReturn(List.of(a, revision(2L, "SUB-2"), c));
+
+        BomLinkRequest request = new BomLinkRequest();
+        request.setChildRevisionId(1L);
+
+        assertThatThrownBy(() -> bomService.addChild(3L, request))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("PRT-3/A -> ASM-1/A -> SUB-2/A -> PRT-3/A");
+        verify(revisionRepository).lockAllById(Set.of(1L, 3L));
+        verify(bomLinkRepository, never()).save(any());
+    }
+
+    @Test
+    void addChild_noPathBack_savesLinkAndPublishesChange() {
+        Revision a = revision(1L, "ASM-1");
+        Revision b = revision(2L, "PRT-2");
+        when(revisionRepository.findById(1L)).thenReturn(Optional.of(a));
+        when(revisionRepository.findById(2L)).thenReturn(Optional.of(b));
+        when(bomLinkRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        BomLinkRequest request = new BomLinkRequest();
+        request.setChildRevisionId(2L);
+        bomService.addChild(1L, request);
+
+        verify(bomLinkRepository).save(any(BomLink.class));
+        verify(eventPublisher).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void summarize_multipliesDownSharedSubAssembliesAndSumsPerPart() {
+        // 1 -> 2 (x2), 1 -> 4 (x1), 2 -> 3 (x3.5), 2 -> 4 (x4), 3 -> 4 (x0.25)
+        List<BomStructureRow> rows = List.of(
+                structure(1L, 2L, "2", "SUB"), structure(1L, 4L, "1", "BOLT"),
+                structure(2L, 3L, "3.5", "PART"), structure(2L, 4L, "4", "BOLT"),
+                structure(3L, 4L, "0.25", "BOLT"));
+        when(revisionRepository.existsById(1L)).thenReturn(true);
+        when(bomLinkRepository.findStructure(1L)).thenReturn(rows);
+
+        List<BomSummaryLineResponse> leaves = bomService.summarize(1L, true);
+        List<BomSummaryLineResponse> all = bomService.summarize(1L, false);
+
+        // bolts: 1 + 2*4 + 2*3.5*0.25 = 10.75
+        assertThat(leaves).singleElement().satisfies(line -> {
+            assertThat(line.getChildItemNumber()).isEqualTo("BOLT");
+            assertThat(line.getTotalQuantity()).isEqualByComparingTo("10.75");
+        });
+        assertThat(all).extracting(BomSummaryLineResponse::getChildItemNumber)
+                .containsExactly("BOLT", "PART", "SUB");
+    }
+
+    @Test
+    void summarize_cyclicStructure_throwsBadRequest() {
+        List<BomStructureRow> rows = List.of(structure(1L, 2L, "1", "SUB"),
+                structure(2L, 3L, "1", "PART"), structure(3L, 2L, "1", "SUB"));
+        when(revisionRepository.existsById(1L)).thenReturn(true);
+        when(bomLinkRepository.findStructure(1L)).thenReturn(rows);
+
+        assertThatThrownBy(() -> bomService.summarize(1L, true))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void diff_mapsChangeKindsFromQuery() {
+        BomDiffRow added = mock(BomDiffRow.class);
+        when(added.getChildItemNumber()).thenReturn("NUT");
+        when(added.getRevisionIdB()).thenReturn(7L);
+        when(added.getChange()).thenReturn("ADDED");
+        BomDiffRow swapped = mock(BomDiffRow.class);
+        when(swapped.getChildItemNumber()).thenReturn("SUB");
+        when(swapped.getChange()).thenReturn("REVISION_CHANGED");
+        when(revisionRepository.existsById(1L)).thenReturn(true);
+        when(revisionRepository.existsById(2L)).thenReturn(true);
+        when(bomLinkRepository.diff(1L, 2L, true, false)).thenReturn(List.of(added, swapped));
+
+        List<BomDiffLineResponse> diff = bomService.diff(1L, 2L, true, false);
+
+        assertThat(diff).extracting(BomDiffLineResponse::getChange)
+                .containsExactly(BomDiffLineResponse.Change.ADDED, BomDiffLineResponse.Change.REVISION_CHANGED);
+        assertThat(diff.get(0).getRevisionIdB()).isEqualTo(7L);
+    }
+
+    @Test
+    void diff_unknownRevision_throwsNotFound() {
+        when(revisionRepository.existsById(1L)).thenReturn(true);
+        when(revisionRepository.existsById(99L)).thenReturn(false);
+        assertThatThrownBy(() -> bomService.diff(1L, 99L, false, false))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(bomLinkRepository, never()).diff(any(), any(), anyBoolean(), anyBoolean());
+    }
+
+    private static BomStructureRow structure(Long parent, Long child, String quantity, String itemNumber) {
+        BomStructureRow row = mock(BomStructureRow.class);
+        lenient().when(row.getParentRevisionId()).thenReturn(parent);
+        lenient().when(row.getChildRevisionId()).thenReturn(child);
+        lenient().when(row.getQuantity()).thenReturn(new BigDecimal(quantity));
+        lenient().when(row.getChildItemNumber()).thenReturn(itemNumber);
+        lenient().when(row.getChildRevisionCode()).thenReturn("A");
+        return row;
+    }
+
+    private static Revision revision(Long id, String itemNumber) {
+        Item item = Item.builder().id(id).itemNumber(itemNumber).name(itemNumber).build();
+        return Revision.builder().id(id).item(item).revisionCode("A").build();
+    }
+
+    private static BomEdge edge(Long parent, Long child) {
+        BomEdge edge = mock(BomEdge.class);
+        when(edge.getParentRevisionId()).thenReturn(parent);
+        when(edge.getChildRevisionId()).thenReturn(child);
+        return edge;
+    }
+}
@@ -0,0 +1,204 @@
+package com.plm.service;
+
+import com.plm.entity.ContentBlob;
+import com.plm.entity.Document;
+import com.plm.repository.ContentBlobRepository;
+import io.minio.CopyObjectArgs;
+import io.minio.MinioClient;
+import io.minio.RemoveObjectArgs;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContentBlobServiceTest {
+
+    private static final String SHA = "ab" + "0".repeat(62);
+    private static final String PATH = "raw/sha256/ab/" + SHA;
+
+    @Mock
+    private ContentBlobRepository contentBlobRepository;
+
+    @Mock
+    private MinioClient minioClient;
+
+    @InjectMocks
+    private ContentBlobService contentBlobService;
+
+    @Test
+    void store_knownContent_addsReferenceAndDropsStagedCopy() throws Exception {
+        ContentBlob existing = blob(2, "gltf/revisions/1/x_bracket.glb");
+        when(contentBlobRepository.findByIdForUpdate(SHA)).thenReturn(Optional.of(existing));
+        when(contentBlobRepository.save(existing)).thenReturn(existing);
+
+        ContentBlob stored = contentBlobService.store("raw", "revisions/3/x_bracket.stp", SHA, 10);
+
+        assertThat(stored.getRefCount()).isEqualTo(3);
+        assertThat(stored.getGltfPath()).isEqualTo("gltf/revisions/1/x_bracket.glb");
+        verify(minioClient, never()).copyObject(any());
+        assertThat(removed()).containsExactly("revisions/3/x_bracket.stp");
+    }
+
+    @Test
+    void store_newContent_movesUploadUnderItsHash() throws Exception {
+        when(contentBlobRepository.findByIdForUpdate(SHA)).thenReturn(Optional.empty());
+        ArgumentCaptor<String> path = ArgumentCaptor.forClass(String.class);
+        doNothing().when(contentBlobRepository).insertOrReference(eq(SHA), path.capture(), eq(10L));
+        when(contentBlobRepository.findById(SHA)).thenAnswer(inv -> Optional.of(blobAt(path.getValue(), 1)));
+
+        ContentBlob stored = contentBlobService.store("raw", "revisions/3/x_bracket.stp", SHA, 10);
+
+        ArgumentCaptor<CopyObjectArgs> copy = ArgumentCaptor.forClass(CopyObjectArgs.class);
+        verify(minioClient).copyObject(copy.capture());
+        assertThat(copy.getValue().object()).startsWith("sha256/ab/" + SHA + "/");
+        assertThat(copy.getValue().source().object()).isEqualTo("revisions/3/x_bracket.stp");
+        assertThat(path.getValue()).isEqualTo("raw/" + copy.getValue().object());
+        assertThat(removed()).containsExactly("revisions/3/x_bracket.stp");
+        assertThat(stored.getObjectPath()).isEqualTo(path.getValue());
+    }
+
+    @Test
+    void store_concurrentUploadCreatedBlobFirst_dropsOwnCopy() throws Exception {
+        when(contentBlobRepository.findByIdForUpdate(SHA)).thenReturn(Optional.empty());
+        when(contentBlobRepository.findById(SHA)).thenReturn(Optional.of(blob(2, null)));
+
+        ContentBlob stored = contentBlobService.store("raw", "revisions/3/x_bracket.stp", SHA, 10);
+
+        ArgumentCaptor<CopyObjectArgs> copy = ArgumentCaptor.forClass(CopyObjectArgs.class);
+        verify(minioClient).copyObject(copy.capture());
+        assertThat(stored.getObjectPath()).isEqualTo(PATH);
+        assertThat(removed()).containsExactly("revisions/3/x_bracket.stp", copy.getValue().object());
+    }
+
+    @Test
+    void store_rolledBack_removesNewBlobObjectButKeepsStagedUpload() throws Exception {
+        when(contentBlobRepository.findByIdForUpdate(SHA)).thenReturn(Optional.empty());
+        ArgumentCaptor<String> path = ArgumentCaptor.forClass(String.class);
+        doNothing().when(contentBlobRepository).insertOrReference(eq(SHA), path.capture(), eq(10L));
+        when(contentBlobRepository.findById(SHA)).thenAnswer(inv -> Optional.of(blobAt(path.getValue(), 1)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            contentBlobService.store("raw", "revisions/3/x_bracket.stp", SHA, 10);
+            verify(minioClient, never()).removeObject(any());
+
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // the staged upload stays so that registering it can be retried
+        assertThat(removed()).containsExactly(path.getValue().substring("raw/".length()));
+    }
+
+    @Test
+    void release_sharedBlob_onlyDecrements() throws Exception {
+        ContentBlob shared = blob(2, "gltf/revisions/1/x_bracket.glb");
+        when(contentBlobRepository.findByIdForUpdate(SHA)).thenReturn(Optional.of(shared));
+
+        assertThat(contentBlobService.release(document("gltf/revisions/1/x_bracket.glb"))).isTrue();
+
+        assertThat(shared.getRefCount()).isEqualTo(1);
+        verify(contentBlobRepository).save(shared);
+        verify(minioClient, never()).removeObject(any());
+    }
+
+    @Test
+    void release_lastReference_removesBlobAndGlb() throws Exception {
+        ContentBlob last = blob(1, "gltf/revisions/1/x_bracket.glb");
+        when(contentBlobRepository.findByIdForUpdate(SHA)).thenReturn(Optional.of(last));
+
+        assertThat(contentBlobService.release(document("gltf/revisions/1/x_bracket.glb"))).isTrue();
+
+        verify(contentBlobRepository).delete(last);
+        assertThat(removed()).containsExactlyInAnyOrder("sha256/ab/" + SHA, "revisions/1/x_bracket.glb");
+    }
+
+    @Test
+    void release_lastReference_defersRemovalUntilCommit() throws Exception {
+        when(contentBlobRepository.findByIdForUpdate(SHA)).thenReturn(Optional.of(blob(1, null)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            contentBlobService.release(document(null));
+            assertThat(removed()).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(removed()).containsExactly("sha256/ab/" + SHA);
+    }
+
+    @Test
+    void release_rolledBack_keepsObjects() throws Exception {
+        when(contentBlobRepository.findByIdForUpdate(SHA)).thenReturn(Optional.of(blob(1, "gltf/revisions/1/x_bracket.glb")));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            contentBlobService.release(document("gltf/revisions/1/x_bracket.glb"));
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(minioClient, never()).removeObject(any());
+    }
+
+    @Test
+    void release_documentNotBackedByBlob_isLeftToCaller() {
+        Document legacy = Document.builder().filePath("raw/revisions/3/x_bracket.stp").contentSha256(SHA).build();
+        when(contentBlobRepository.findByIdForUpdate(SHA)).thenReturn(Optional.of(blob(1, null)));
+
+        assertThat(contentBlobService.release(legacy)).isFalse();
+        verify(contentBlobRepository, never()).delete(any());
+    }
+
+    @Test
+    void recordConversion_blobAlreadyConverted_keepsFirstGlbAndRemovesDuplicate() throws Exception {
+        when(contentBlobRepository.findByIdForUpdate(SHA))
+                .thenReturn(Optional.of(blob(2, "gltf/revisions/1/x_bracket.glb")));
+
+        String path = contentBlobService.recordConversion(document(null), "gltf/revisions/3/y_bracket.glb");
+
+        assertThat(path).isEqualTo("gltf/revisions/1/x_bracket.glb");
+        assertThat(removed()).containsExactly("revisions/3/y_bracket.glb");
+    }
+
+    private List<String> removed() throws Exception {
+        ArgumentCaptor<RemoveObjectArgs> remove = ArgumentCaptor.forClass(RemoveObjectArgs.class);
+        verify(minioClient, atLeast(0)).removeObject(remove.capture());
+        return remove.getAllValues().stream().map(RemoveObjectArgs::object).toList();
+    }
+
+    private static void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(status));
+    }
+
+    private static Document document(String gltfPath) {
+        return Document.builder().filePath(PATH).contentSha256(SHA).gltfPath(gltfPath).build();
+    }
+
+    private static ContentBlob blobAt(String objectPath, int refCount) {
+        return ContentBlob.builder().sha256(SHA).objectPath(objectPath).sizeBytes(10).refCount(refCount).build();
+    }
+
+    private static ContentBlob blob(int refCount, String gltfPath) {
+        return ContentBlob.builder().sha256(SHA).objectPath(PATH).sizeBytes(10).refCount(refCount)
+                .gltfPath(gltfPath).build();
+    }
+}
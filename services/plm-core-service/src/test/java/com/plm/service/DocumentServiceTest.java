@@ -0,0 +1,248 @@
+package com.plm.service;
+
+import com.plm.dto.ConversionMessage;
+import com.plm.config.MinioPresigner;
+import com.plm.dto.DocumentResponse;
+import com.plm.dto.PresignedUrlResponse;
+import com.plm.entity.ContentBlob;
+import com.plm.entity.ConversionStatus;
+import com.plm.entity.Document;
+import com.plm.entity.Revision;
+import com.plm.exception.BadRequestException;
+import com.plm.exception.ResourceNotFoundException;
+import com.plm.repository.DocumentRepository;
+import com.plm.repository.RevisionRepository;
+import io.minio.GetObjectResponse;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.StatObjectResponse;
+import okhttp3.Headers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentServiceTest {
+
+    private static final byte[] CONTENT = "ISO-10303-21;\nHEADER;\nENDSEC;\n".getBytes(StandardCharsets.US_ASCII);
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @Mock
+    private RevisionRepository revisionRepository;
+
+    @Mock
+    private MinioClient minioClient;
+
+    @Mock
+    private KafkaTemplate<String, ConversionMessage> kafkaTemplate;
+
+    @Mock
+    private MinioPresigner minioPresigner;
+
+    @Mock
+    private ContentBlobService contentBlobService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private DocumentService documentService;
+
+    private Revision revision;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(documentService, "rawBucket", "raw");
+        ReflectionTestUtils.setField(documentService, "uploadPartSize", DataSize.ofMegabytes(16));
+        ReflectionTestUtils.setField(documentService, "maxUploadSize", DataSize.ofBytes(1024));
+        ReflectionTestUtils.setField(documentService, "presignedEnabled", true);
+        ReflectionTestUtils.setField(documentService, "presignedDownloadTtl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(documentService, "presignedUploadTtl", Duration.ofMinutes(15));
+        revision = Revision.builder().id(3L).build();
+    }
+
+    @Test
+    void uploadDocument_unknownLength_streamsInPartsAndRecordsChecksum() throws Exception {
+        stubRevisionAndBucket();
+        stubTransaction();
+        when(minioClient.putObject(any())).thenAnswer(inv -> {
+            inv.<PutObjectArgs>getArgument(0).stream().readAllBytes();
+            return null;
+        });
+        when(contentBlobService.store(eq("raw"), startsWith("revisions/3/"), anyString(), eq((long) CONTENT.length)))
+                .thenAnswer(inv -> blob(inv.getArgument(2), null));
+        when(documentRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        DocumentResponse response = documentService.uploadDocument(3L, "bracket.txt", null, -1,
+                new ByteArrayInputStream(CONTENT));
+
+        ArgumentCaptor<PutObjectArgs> put = ArgumentCaptor.forClass(PutObjectArgs.class);
+        verify(minioClient).putObject(put.capture());
+        assertThat(put.getValue().objectSize()).isEqualTo(-1);
+        assertThat(put.getValue().partSize()).isEqualTo(DataSize.ofMegabytes(16).toBytes());
+        assertThat(response.getSizeBytes()).isEqualTo(CONTENT.length);
+        assertThat(response.getContentSha256()).isEqualTo(sha256(CONTENT));
+        assertThat(response.getFilePath()).startsWith("raw/sha256/" + sha256(CONTENT).substring(0, 2) + "/" + sha256(CONTENT) + "/");
+        InOrder order = inOrder(minioClient, transactionTemplate);
+        order.verify(minioClient).putObject(any());
+        order.verify(transactionTemplate).execute(any());
+    }
+
+    @Test
+    void uploadDocument_identicalConvertedContent_reusesGlbWithoutQueueingConversion() throws Exception {
+        stubRevisionAndBucket();
+        stubTransaction();
+        when(contentBlobService.store(any(), any(), any(), anyLong()))
+                .thenAnswer(inv -> blob(inv.getArgument(2), "gltf/revisions/1/x_bracket.glb"));
+        when(documentRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        DocumentResponse response = documentService.uploadDocument(3L, "bracket.stp", null, CONTENT.length,
+                new ByteArrayInputStream(CONTENT));
+
+        assertThat(response.getGltfPath()).isEqualTo("gltf/revisions/1/x_bracket.glb");
+        assertThat(response.getConversionStatus()).isEqualTo(ConversionStatus.DONE.name());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void deleteDocument_blobBacked_leavesObjectsToBlobRelease() throws Exception {
+        Document document = Document.builder().id(5L).revision(revision).fileName("bracket.stp")
+                .filePath("raw/sha256/ab/ab12").contentSha256("ab12").gltfPath("gltf/revisions/3/x_bracket.glb").build();
+        when(documentRepository.findById(5L)).thenReturn(Optional.of(document));
+        when(contentBlobService.release(document)).thenReturn(true);
+
+        documentService.deleteDocument(5L);
+
+        verify(minioClient, never()).removeObject(any());
+        verify(documentRepository).delete(document);
+    }
+
+    @Test
+    void uploadDocument_streamPastLimit_isRejected() throws Exception {
+        stubRevisionAndBucket();
+        when(minioClient.putObject(any())).thenAnswer(inv -> {
+            inv.<PutObjectArgs>getArgument(0).stream().readAllBytes();
+            return null;
+        });
+
+        assertThatThrownBy(() -> documentService.uploadDocument(3L, "big.stp", null, -1,
+                new ByteArrayInputStream(new byte[2048])))
+                .isInstanceOf(BadRequestException.class);
+        verify(documentRepository, never()).save(any(Document.class));
+    }
+
+    @Test
+    void uploadDocument_unknownRevision_isRejectedBeforeStreaming() throws Exception {
+        when(revisionRepository.existsById(9L)).thenReturn(false);
+
+        assertThatThrownBy(() -> documentService.uploadDocument(9L, "bracket.stp", null, CONTENT.length,
+                new ByteArrayInputStream(CONTENT)))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(minioClient, transactionTemplate);
+    }
+
+    @Test
+    void uploadDocument_documentCreationFails_removesStagedObject() throws Exception {
+        stubRevisionAndBucket();
+        stubTransaction();
+        when(contentBlobService.store(any(), any(), any(), anyLong())).thenThrow(new IllegalStateException("db down"));
+
+        assertThatThrownBy(() -> documentService.uploadDocument(3L, "bracket.stp", null, CONTENT.length,
+                new ByteArrayInputStream(CONTENT)))
+                .isInstanceOf(IllegalStateException.class);
+        verify(minioClient).removeObject(argThat(args -> args.bucket().equals("raw")
+                && args.object().startsWith("revisions/3/")));
+    }
+
+    @Test
+    void getDownloadUrl_presignsConvertedModelWithGlbFileName() throws Exception {
+        Document document = Document.builder().id(5L).revision(revision).fileName("bracket.STEP")
+                .filePath("raw/revisions/3/x_bracket.STEP").gltfPath("gltf/revisions/3/x_bracket.glb").build();
+        when(documentRepository.findById(5L)).thenReturn(Optional.of(document));
+        when(minioPresigner.presignedGet(eq("gltf"), eq("revisions/3/x_bracket.glb"), eq(Duration.ofMinutes(5)), anyMap()))
+                .thenReturn("http://minio.example/gltf/revisions/3/x_bracket.glb?X-Amz-Signature=abc");
+
+        PresignedUrlResponse url = documentService.getDownloadUrl(5L);
+
+        assertThat(url.getUrl()).startsWith("http://minio.example/");
+        assertThat(url.getExpiresAt()).isNotNull();
+        verify(minioPresigner).presignedGet(any(), any(), any(),
+                eq(Map.of("response-content-disposition", "inline; filename=\"bracket.glb\"",
+                        "response-content-type", "model/gltf-binary")));
+    }
+
+    @Test
+    void completePresignedUpload_objectOfAnotherRevision_isRejected() {
+        when(revisionRepository.existsById(3L)).thenReturn(true);
+
+        assertThatThrownBy(() -> documentService.completePresignedUpload(3L, "revisions/4/abc_bracket.stp"))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(minioClient);
+    }
+
+    @Test
+    void completePresignedUpload_hashesObjectAndStoresItLikeDirectUpload() throws Exception {
+        when(revisionRepository.existsById(3L)).thenReturn(true);
+        stubTransaction();
+        StatObjectResponse stat = mock(StatObjectResponse.class);
+        when(stat.size()).thenReturn((long) CONTENT.length);
+        when(minioClient.statObject(any())).thenReturn(stat);
+        when(minioClient.getObject(any())).thenReturn(new GetObjectResponse(Headers.of(), "raw", "",
+                "revisions/3/abc_my_part.stp", new ByteArrayInputStream(CONTENT)));
+        when(contentBlobService.store("raw", "revisions/3/abc_my_part.stp", sha256(CONTENT), CONTENT.length))
+                .thenAnswer(inv -> blob(inv.getArgument(2), "gltf/revisions/1/x_bracket.glb"));
+        when(documentRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        DocumentResponse response = documentService.completePresignedUpload(3L, "revisions/3/abc_my_part.stp");
+
+        assertThat(response.getFileName()).isEqualTo("my_part.stp");
+        assertThat(response.getSizeBytes()).isEqualTo(CONTENT.length);
+        assertThat(response.getContentSha256()).isEqualTo(sha256(CONTENT));
+        assertThat(response.getFilePath()).startsWith("raw/sha256/");
+        assertThat(response.getConversionStatus()).isEqualTo(ConversionStatus.DONE.name());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    private static ContentBlob blob(String sha256, String gltfPath) {
+        return ContentBlob.builder().sha256(sha256).objectPath("raw/" + ContentBlobService.objectName(sha256))
+                .sizeBytes(CONTENT.length).refCount(1).gltfPath(gltfPath).build();
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    private void stubRevisionAndBucket() throws Exception {
+        when(revisionRepository.existsById(3L)).thenReturn(true);
+        when(minioClient.bucketExists(any())).thenReturn(true);
+    }
+
+    private void stubTransaction() {
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(revisionRepository.findById(3L)).thenReturn(Optional.of(revision));
+    }
+}
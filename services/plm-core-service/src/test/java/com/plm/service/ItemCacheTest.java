@@ -0,0 +1,80 @@
+package com.plm.service;
+
+import com.plm.dto.ItemResponse;
+import com.plm.entity.LifecycleState;
+import com.plm.event.ItemEvent;
+import com.plm.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemCacheTest {
+
+    private final Map<String, ItemResponse> db = new HashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, ItemResponse> byNumber = number -> {
+        loads.incrementAndGet();
+        ItemResponse item = db.get(number);
+        if (item == null) throw new ResourceNotFoundException("Item not found: " + number);
+        return item;
+    };
+
+    private SimpleMeterRegistry meterRegistry;
+    private ItemCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemCache(meterRegistry, 100, Duration.ofMinutes(5));
+        db.put("ITM-001", item(1L, "ITM-001"));
+    }
+
+    @Test
+    void getByNumber_secondReadIsServedFromCacheAndSharedWithIdLookup() {
+        cache.getByNumber("ITM-001", byNumber);
+        cache.getByNumber("ITM-001", byNumber);
+        ItemResponse byId = cache.get(1L, id -> { throw new AssertionError("should be cached"); });
+
+        assertThat(byId.getItemNumber()).isEqualTo("ITM-001");
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "item.by-number").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void getByNumber_afterRenameAndRemoteEvent_doesNotServeOldNumber() {
+        cache.getByNumber("ITM-001", byNumber);
+        db.remove("ITM-001");
+        db.put("ITM-001-B", item(1L, "ITM-001-B"));
+
+        cache.onItemEvent(ItemEvent.of(ItemEvent.Type.ITEM_UPDATED, 1L, "ITM-001-B", "Bracket", null, "DRAFT"));
+
+        assertThatThrownBy(() -> cache.getByNumber("ITM-001", byNumber))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(cache.getByNumber("ITM-001-B", byNumber).getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void evictAfterCommit_withoutTransaction_evictsImmediately() {
+        cache.getByNumber("ITM-001", byNumber);
+        db.put("ITM-001", item(1L, "ITM-001"));
+        db.get("ITM-001").setName("Renamed");
+
+        cache.evictAfterCommit(1L);
+
+        assertThat(cache.getByNumber("ITM-001", byNumber).getName()).isEqualTo("Renamed");
+        assertThat(loads).hasValue(2);
+    }
+
+    private static ItemResponse item(Long id, String itemNumber) {
+        return new ItemResponse(id, itemNumber, "Item " + itemNumber, null, LifecycleState.DRAFT, null, null);
+    }
+}
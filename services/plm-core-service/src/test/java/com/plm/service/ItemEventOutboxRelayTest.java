@@ -0,0 +1,119 @@
+package com.plm.service;
+
+import com.plm.config.KafkaConfig;
+import com.plm.event.ItemEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemEventOutboxRelayTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private ItemEventOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new ItemEventOutboxRelay(jdbcTemplate, kafkaTemplate,
+                500, Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofHours(24));
+    }
+
+    @Test
+    void relayBatch_leaseHeldElsewhere_sendsNothing() {
+        when(jdbcTemplate.update(startsWith("UPDATE outbox_relay_lease"), any(Object[].class))).thenReturn(0);
+
+        assertThat(relay.relayBatch()).isZero();
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayBatch_failedSendHoldsBackLaterEventsForSameKey() throws Exception {
+        when(jdbcTemplate.update(startsWith("UPDATE outbox_relay_lease"), any(Object[].class))).thenReturn(1);
+        doAnswer(inv -> List.of(
+                pending(inv.getArgument(1), 1, "10"),
+                pending(inv.getArgument(1), 2, "20"),
+                pending(inv.getArgument(1), 3, "10")))
+                .when(jdbcTemplate).query(anyString(), any(RowMapper.class), eq(500));
+        when(kafkaTemplate.send(eq(KafkaConfig.ITEM_EVENTS_TOPIC), eq("10"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")),
+                        CompletableFuture.completedFuture(mock(SendResult.class)));
+        when(kafkaTemplate.send(eq(KafkaConfig.ITEM_EVENTS_TOPIC), eq("20"), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        assertThat(relay.relayBatch()).isEqualTo(1);
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq(KafkaConfig.ITEM_EVENTS_TOPIC), eq("20"), payload.capture());
+        assertThat(payload.getValue()).isInstanceOfSatisfying(ItemEvent.class, event -> {
+            assertThat(event.type()).isEqualTo(ItemEvent.Type.ITEM_UPDATED);
+            assertThat(event.id()).isEqualTo(20L);
+        });
+
+        // Only event 2 is marked sent; 1 failed and 3 must not overtake it
+        ArgumentCaptor<PreparedStatementCreator> update = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).update(update.capture());
+        Connection con = mock(Connection.class);
+        when(con.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        update.getValue().createPreparedStatement(con);
+        verify(con).createArrayOf("bigint", new Object[]{2L});
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayBatch_brokerSilent_givesUpAfterOneSendTimeoutForTheWholeBatch() {
+        when(jdbcTemplate.update(startsWith("UPDATE outbox_relay_lease"), any(Object[].class))).thenReturn(1);
+        doAnswer(inv -> List.of(
+                pending(inv.getArgument(1), 1, "10"),
+                pending(inv.getArgument(1), 2, "20"),
+                pending(inv.getArgument(1), 3, "30")))
+                .when(jdbcTemplate).query(anyString(), any(RowMapper.class), eq(500));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+
+        long start = System.nanoTime();
+        assertThat(relay.relayBatch()).isZero();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        verify(jdbcTemplate, never()).update(any(PreparedStatementCreator.class));
+    }
+
+    @Test
+    void constructor_leaseNotLongerThanSendTimeout_isRejected() {
+        assertThatThrownBy(() -> new ItemEventOutboxRelay(jdbcTemplate, kafkaTemplate,
+                500, Duration.ofSeconds(30), Duration.ofSeconds(30), Duration.ofHours(24)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object pending(RowMapper<?> mapper, long id, String key) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(id);
+        when(rs.getString("event_key")).thenReturn(key);
+        when(rs.getString("payload")).thenReturn("{\"schemaVersion\":1,\"type\":\"ITEM_UPDATED\",\"id\":" + key + "}");
+        return mapper.mapRow(rs, 0);
+    }
+}
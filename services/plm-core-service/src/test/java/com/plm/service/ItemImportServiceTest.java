@@ -0,0 +1,94 @@
+package com.plm.service;
+
+import com.plm.dto.ItemRequest;
+import com.plm.dto.ItemUpsertResponse;
+import com.plm.dto.ItemUpsertRowResult;
+import com.plm.dto.ItemUpsertRowResult.Status;
+import com.plm.entity.Item;
+import com.plm.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ItemEventPublisher eventPublisher;
+
+    @Mock
+    private ItemCache itemCache;
+
+    @InjectMocks
+    private ItemImportService itemImportService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void upsertItems_skipsInvalidAndDuplicateRowsAndPublishesInBatch() throws Exception {
+        // The upsert statement reports P-001 as inserted with id 10
+        ResultSet inserted = mock(ResultSet.class);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        when(inserted.getLong("id")).thenReturn(10L);
+        when(inserted.getString("item_number")).thenReturn("P-001");
+        when(inserted.getString("name")).thenReturn("Bracket");
+        when(inserted.getString("description")).thenReturn(null);
+        when(inserted.getString("lifecycle_state")).thenReturn("DRAFT");
+        when(inserted.getTimestamp(anyString())).thenReturn(now);
+        when(inserted.getBoolean("inserted")).thenReturn(true);
+        doAnswer(inv -> {
+            inv.getArgument(1, RowCallbackHandler.class).processRow(inserted);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        ItemUpsertResponse response = itemImportService.upsertItems(List.of(
+                request("P-001", "Bracket"),
+                request("P-002", " "),
+                request("P-001", "Bracket again")));
+
+        assertThat(response.getRows()).extracting(ItemUpsertRowResult::getStatus)
+                .containsExactly(Status.CREATED, Status.INVALID, Status.DUPLICATE);
+        assertThat(response.getRows().get(0).getId()).isEqualTo(10L);
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getRejected()).isEqualTo(2);
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        ArgumentCaptor<List<Item>> created = ArgumentCaptor.forClass(List.class);
+        verify(eventPublisher).publishItemsCreated(created.capture());
+        assertThat(created.getValue()).extracting(Item::getItemNumber).containsExactly("P-001");
+        verify(eventPublisher).publishItemsUpdated(List.of());
+    }
+
+    @Test
+    void upsertItems_tooManyRows_throwsBadRequest() {
+        List<ItemRequest> rows = Collections.nCopies(ItemImportService.MAX_UPSERT_ROWS + 1, request("P-001", "Bracket"));
+        assertThatThrownBy(() -> itemImportService.upsertItems(rows))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(jdbcTemplate, eventPublisher);
+    }
+
+    private static ItemRequest request(String itemNumber, String name) {
+        ItemRequest request = new ItemRequest();
+        request.setItemNumber(itemNumber);
+        request.setName(name);
+        return request;
+    }
+}
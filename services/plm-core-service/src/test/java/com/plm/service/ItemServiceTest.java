@@ -1,5 +1,6 @@
 package com.plm.service;
 
+import com.plm.dto.CursorPage;
 import com.plm.dto.ItemRequest;
 import com.plm.dto.ItemResponse;
 import com.plm.entity.Item;
@@ -8,13 +9,20 @@ import com.plm.exception.BadRequestException;
 import com.plm.exception.ConflictException;
 import com.plm.exception.ResourceNotFoundException;
 import com.plm.repository.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -30,6 +38,9 @@ class ItemServiceTest {
     @Mock
     private ItemEventPublisher eventPublisher;
 
+    @Spy
+    private ItemCache itemCache = new ItemCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
     @InjectMocks
     private ItemService itemService;
 
@@ -109,4 +120,58 @@ class ItemServiceTest {
         assertThatThrownBy(() -> itemService.deleteItem(1L))
                 .isInstanceOf(BadRequestException.class);
     }
+
+    @Test
+    void listItems_fullPage_returnsCursorForNextPage() {
+        ItemResponse a = new ItemResponse(5L, "ITM-005", "A", null, LifecycleState.DRAFT, null, null);
+        ItemResponse b = new ItemResponse(9L, "ITM-009", "B", null, LifecycleState.DRAFT, null, null);
+        when(itemRepository.findPageOrderById(0L, null, null, Limit.of(2))).thenReturn(List.of(a, b));
+        when(itemRepository.findPageOrderById(9L, null, null, Limit.of(2))).thenReturn(List.of());
+
+        CursorPage<ItemResponse> first = itemService.listItems(null, 2, "id", null, null);
+        assertThat(first.items()).hasSize(2);
+        assertThat(first.nextCursor()).isNotNull();
+
+        CursorPage<ItemResponse> second = itemService.listItems(first.nextCursor(), 2, "id", null, null);
+        assertThat(second.items()).isEmpty();
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void listItems_byUpdatedAt_resumesAfterLastKey() {
+        LocalDateTime t = LocalDateTime.of(2024, 3, 1, 12, 0);
+        ItemResponse a = new ItemResponse(7L, "ITM-007", "A", null, LifecycleState.RELEASED, t, t);
+        when(itemRepository.findPageOrderByUpdatedAt(any(), eq(0L), eq(LifecycleState.RELEASED), isNull(), eq(Limit.of(1))))
+                .thenReturn(List.of(a));
+        when(itemRepository.findPageOrderByUpdatedAt(t, 7L, LifecycleState.RELEASED, null, Limit.of(1)))
+                .thenReturn(List.of());
+
+        CursorPage<ItemResponse> first = itemService.listItems(null, 1, "updatedAt", LifecycleState.RELEASED, null);
+        CursorPage<ItemResponse> second = itemService.listItems(first.nextCursor(), 1, "updatedAt", LifecycleState.RELEASED, null);
+
+        assertThat(second.items()).isEmpty();
+        verify(itemRepository).findPageOrderByUpdatedAt(t, 7L, LifecycleState.RELEASED, null, Limit.of(1));
+    }
+
+    @Test
+    void listItems_invalidCursor_throwsBadRequest() {
+        assertThatThrownBy(() -> itemService.listItems("not-a-cursor!", 10, "id", null, null))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void search_clampsPageSizeAndComputesOffset() {
+        when(itemRepository.search("motor", 100, 200L)).thenReturn(List.of(item));
+
+        List<ItemResponse> result = itemService.search("  motor ", 2, 5000);
+
+        assertThat(result).extracting(ItemResponse::getItemNumber).containsExactly(item.getItemNumber());
+    }
+
+    @Test
+    void search_blankQuery_throwsBadRequest() {
+        assertThatThrownBy(() -> itemService.search(" ", 0, 20))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(itemRepository);
+    }
 }
@@ -0,0 +1,243 @@
+package com.plm.service;
+
+import com.plm.config.MultipartMinioClient;
+import com.plm.dto.ContentDigest;
+import com.plm.dto.DocumentResponse;
+import com.plm.dto.UploadSessionRequest;
+import com.plm.entity.UploadSession;
+import com.plm.entity.UploadSessionPart;
+import com.plm.entity.UploadSessionStatus;
+import com.plm.exception.BadRequestException;
+import com.plm.repository.RevisionRepository;
+import com.plm.repository.UploadSessionPartRepository;
+import com.plm.repository.UploadSessionRepository;
+import io.minio.MinioClient;
+import io.minio.StatObjectResponse;
+import io.minio.messages.Part;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UploadSessionServiceTest {
+
+    private static final long MB = 1024 * 1024;
+    private static final ContentDigest DIGEST = new ContentDigest("ab12", 40 * MB + 1);
+
+    @Mock
+    private UploadSessionRepository sessionRepository;
+
+    @Mock
+    private UploadSessionPartRepository partRepository;
+
+    @Mock
+    private RevisionRepository revisionRepository;
+
+    @Mock
+    private DocumentService documentService;
+
+    @Mock
+    private MultipartMinioClient multipartClient;
+
+    @Mock
+    private MinioClient minioClient;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private UploadSessionService service;
+
+    private final UUID id = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        service = new UploadSessionService(sessionRepository, partRepository, revisionRepository, documentService,
+                multipartClient, minioClient, "raw", DataSize.ofMegabytes(16), DataSize.ofMegabytes(64),
+                DataSize.ofGigabytes(20), Duration.ofHours(24), transactionTemplate);
+    }
+
+    @Test
+    void initiate_startsMultipartUploadAndSplitsIntoParts() throws Exception {
+        when(revisionRepository.existsById(3L)).thenReturn(true);
+        when(minioClient.bucketExists(any())).thenReturn(true);
+        when(multipartClient.createMultipartUpload(eq("raw"), startsWith("revisions/3/"), eq("model/step")))
+                .thenReturn("s3-upload");
+        when(sessionRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        var response = service.initiate(3L, request(40 * MB + 1, null));
+
+        assertThat(response.getChunkSize()).isEqualTo(16 * MB);
+        assertThat(response.getPartCount()).isEqualTo(3);
+        assertThat(response.getUploadedParts()).isEmpty();
+    }
+
+    @Test
+    void initiate_chunkBelowS3Minimum_isRejected() {
+        when(revisionRepository.existsById(3L)).thenReturn(true);
+
+        assertThatThrownBy(() -> service.initiate(3L, request(100 * MB, MB)))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(multipartClient);
+    }
+
+    @Test
+    void uploadPart_wrongLength_isRejectedBeforeStreaming() {
+        when(sessionRepository.findById(id)).thenReturn(Optional.of(session(40 * MB + 1)));
+
+        assertThatThrownBy(() -> service.uploadPart(id, 3, 16 * MB, InputStream.nullInputStream()))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("exactly " + (8 * MB + 1));
+        verifyNoInteractions(multipartClient);
+    }
+
+    @Test
+    void uploadPart_retryReplacesStoredPart() throws Exception {
+        when(sessionRepository.findById(id)).thenReturn(Optional.of(session(40 * MB + 1)));
+        when(multipartClient.uploadPart(eq("raw"), eq("revisions/3/obj"), eq("s3-upload"), eq(2), any(), eq(16 * MB)))
+                .thenReturn("etag-2b");
+        UploadSessionPart stored = UploadSessionPart.builder().id(9L).sessionId(id).partNumber(2).etag("etag-2a").build();
+        when(partRepository.findBySessionIdAndPartNumber(id, 2)).thenReturn(Optional.of(stored));
+
+        service.uploadPart(id, 2, 16 * MB, new ByteArrayInputStream(new byte[0]));
+
+        assertThat(stored.getEtag()).isEqualTo("etag-2b");
+        verify(partRepository).save(stored);
+    }
+
+    @Test
+    void complete_missingParts_listsThem() {
+        when(sessionRepository.findById(id)).thenReturn(Optional.of(session(40 * MB + 1)));
+        when(partRepository.findBySessionIdOrderByPartNumber(id)).thenReturn(List.of(part(2)));
+
+        assertThatThrownBy(() -> service.complete(id))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("[1, 3]");
+    }
+
+    @Test
+    void complete_assemblesPartsThenCreatesDocument_andIsIdempotent() throws Exception {
+        UploadSession session = stubCompletableSession();
+        DocumentResponse document = new DocumentResponse();
+        document.setId(77L);
+        when(documentService.createFromUpload(3L, "assembly.stp", "revisions/3/obj", DIGEST)).thenReturn(document);
+        when(documentService.getDocument(77L)).thenReturn(document);
+
+        assertThat(service.complete(id).getId()).isEqualTo(77L);
+        assertThat(service.complete(id).getId()).isEqualTo(77L);
+
+        ArgumentCaptor<Part[]> parts = ArgumentCaptor.forClass(Part[].class);
+        verify(multipartClient, times(1)).completeMultipartUpload(eq("raw"), eq("revisions/3/obj"), eq("s3-upload"), parts.capture());
+        assertThat(parts.getValue()).extracting(Part::partNumber).containsExactly(1, 2, 3);
+        assertThat(session.getStatus()).isEqualTo(UploadSessionStatus.COMPLETED);
+        verify(documentService, times(1)).createFromUpload(any(), any(), any(), any());
+    }
+
+    @Test
+    void complete_hashesAssembledObjectBeforeOpeningTransaction() throws Exception {
+        stubCompletableSession();
+        DocumentResponse document = new DocumentResponse();
+        document.setId(77L);
+        when(documentService.createFromUpload(3L, "assembly.stp", "revisions/3/obj", DIGEST)).thenReturn(document);
+
+        service.complete(id);
+
+        InOrder order = inOrder(multipartClient, documentService, transactionTemplate);
+        order.verify(multipartClient).completeMultipartUpload(any(), any(), any(), any());
+        order.verify(documentService).digest("revisions/3/obj");
+        order.verify(transactionTemplate).execute(any());
+        order.verify(documentService).createFromUpload(any(), any(), any(), any());
+    }
+
+    @Test
+    void complete_afterAssembledButDocumentFailed_retrySkipsToDocument() throws Exception {
+        UploadSession session = stubCompletableSession();
+        doThrow(new IllegalStateException("NoSuchUpload"))
+                .when(multipartClient).completeMultipartUpload(any(), any(), any(), any());
+        StatObjectResponse stat = mock(StatObjectResponse.class);
+        when(stat.size()).thenReturn(40 * MB + 1);
+        when(minioClient.statObject(any())).thenReturn(stat);
+        DocumentResponse document = new DocumentResponse();
+        document.setId(78L);
+        when(documentService.createFromUpload(3L, "assembly.stp", "revisions/3/obj", DIGEST)).thenReturn(document);
+
+        assertThat(service.complete(id).getId()).isEqualTo(78L);
+        assertThat(session.getStatus()).isEqualTo(UploadSessionStatus.COMPLETED);
+    }
+
+    @Test
+    void complete_failsAndObjectMissing_propagates() throws Exception {
+        UploadSession session = session(40 * MB + 1);
+        when(sessionRepository.findById(id)).thenReturn(Optional.of(session));
+        when(partRepository.findBySessionIdOrderByPartNumber(id)).thenReturn(List.of(part(1), part(2), part(3)));
+        doThrow(new IllegalStateException("InvalidPart"))
+                .when(multipartClient).completeMultipartUpload(any(), any(), any(), any());
+        when(minioClient.statObject(any())).thenThrow(new IllegalStateException("NoSuchKey"));
+
+        assertThatThrownBy(() -> service.complete(id)).hasMessageContaining("Could not complete upload");
+        assertThat(session.getStatus()).isEqualTo(UploadSessionStatus.ACTIVE);
+        verifyNoInteractions(documentService);
+    }
+
+    @Test
+    void initiate_fileNameWithSeparatorQuoteOrControl_isRejected() {
+        when(revisionRepository.existsById(3L)).thenReturn(true);
+
+        for (String name : List.of("../x.stp", "a\"b.stp", "a\nb.stp")) {
+            UploadSessionRequest request = request(40 * MB, null);
+            request.setFileName(name);
+            assertThatThrownBy(() -> service.initiate(3L, request)).isInstanceOf(BadRequestException.class);
+        }
+        verifyNoInteractions(multipartClient, sessionRepository);
+    }
+
+    private UploadSession stubCompletableSession() {
+        UploadSession session = session(40 * MB + 1);
+        when(sessionRepository.findById(id)).thenReturn(Optional.of(session));
+        when(sessionRepository.findByIdForUpdate(id)).thenReturn(Optional.of(session));
+        when(partRepository.findBySessionIdOrderByPartNumber(id)).thenReturn(List.of(part(1), part(2), part(3)));
+        when(documentService.digest("revisions/3/obj")).thenReturn(DIGEST);
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        return session;
+    }
+
+    private UploadSession session(long totalSize) {
+        return UploadSession.builder()
+                .id(id).revisionId(3L).fileName("assembly.stp")
+                .totalSize(totalSize).chunkSize(16 * MB).partCount((int) ((totalSize + 16 * MB - 1) / (16 * MB)))
+                .objectName("revisions/3/obj").s3UploadId("s3-upload")
+                .createdBy("unknown").expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+    }
+
+    private UploadSessionPart part(int n) {
+        return UploadSessionPart.builder().sessionId(id).partNumber(n).sizeBytes(16 * MB).etag("etag-" + n).build();
+    }
+
+    private static UploadSessionRequest request(long totalSize, Long chunkSize) {
+        UploadSessionRequest request = new UploadSessionRequest();
+        request.setFileName("assembly.stp");
+        request.setContentType("model/step");
+        request.setTotalSize(totalSize);
+        request.setChunkSize(chunkSize);
+        return request;
+    }
+}
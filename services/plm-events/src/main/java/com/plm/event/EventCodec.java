@@ -0,0 +1,51 @@
+package com.plm.event;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Wire format of the plm.* topics. Events are written as Smile, Jackson's binary JSON:
+ * same data model and annotations as JSON, but length-prefixed and with back-referenced
+ * field names, so payloads are smaller and parse without text scanning. Readers accept
+ * both Smile and plain JSON, telling them apart by the Smile header, so messages written
+ * before the switch stay readable.
+ *
+ * Shared by every service that produces or consumes plm.* events through the plm-events module.
+ */
+public final class EventCodec {
+
+    private static final ObjectMapper SMILE = configure(new ObjectMapper(new SmileFactory()));
+    private static final ObjectMapper JSON = configure(new ObjectMapper());
+
+    private EventCodec() {
+    }
+
+    public static ObjectMapper smile() {
+        return SMILE;
+    }
+
+    public static ObjectMapper json() {
+        return JSON;
+    }
+
+    /** Every Smile document starts with ":)\n"; a JSON document never starts with ':'. */
+    public static boolean isSmile(byte[] data) {
+        return data.length >= 3 && data[0] == ':' && data[1] == ')' && data[2] == '\n';
+    }
+
+    public static ObjectMapper readerFor(byte[] data) {
+        return isSmile(data) ? SMILE : JSON;
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
+        return mapper.registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .enable(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_USING_DEFAULT_VALUE)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+}
@@ -0,0 +1,39 @@
+package com.plm.event;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.support.KafkaNull;
+import org.springframework.kafka.support.converter.ByteArrayJsonMessageConverter;
+import org.springframework.kafka.support.converter.ConversionException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Converts raw record values (read with {@code ByteArrayDeserializer}) into the type the
+ * {@code @KafkaListener} method declares, from either Smile or legacy JSON. A listener
+ * without a declared type receives a {@link JsonNode}.
+ */
+public class EventMessageConverter extends ByteArrayJsonMessageConverter {
+
+    public EventMessageConverter() {
+        super(EventCodec.json());
+    }
+
+    @Override
+    protected Object extractAndConvertValue(ConsumerRecord<?, ?> record, Type type) {
+        if (!(record.value() instanceof byte[] data)) {
+            return record.value() == null ? KafkaNull.INSTANCE : super.extractAndConvertValue(record, type);
+        }
+        var mapper = EventCodec.readerFor(data);
+        JavaType target = type == null || type == Object.class
+                ? mapper.constructType(JsonNode.class)
+                : mapper.constructType(type);
+        try {
+            return mapper.readValue(data, target);
+        } catch (IOException e) {
+            throw new ConversionException("Failed to convert " + record.topic() + " record to " + target, record, e);
+        }
+    }
+}
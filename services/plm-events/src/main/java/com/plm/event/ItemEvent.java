@@ -0,0 +1,33 @@
+package com.plm.event;
+
+import com.fasterxml.jackson.annotation.JsonEnumDefaultValue;
+
+import java.time.Instant;
+
+/**
+ * plm.item-events payload, keyed by item id. {@code schemaVersion} is bumped whenever a
+ * field changes meaning; adding a field does not require a bump, since readers ignore
+ * unknown fields and map unknown types to {@link Type#UNKNOWN}. Version 0 denotes the
+ * untyped events written before the version field existed.
+ */
+public record ItemEvent(int schemaVersion,
+                        Type type,
+                        Long id,
+                        String itemNumber,
+                        String name,
+                        String description,
+                        String lifecycleState,
+                        Instant timestamp) {
+
+    public static final int SCHEMA_VERSION = 1;
+
+    public enum Type {
+        ITEM_CREATED, ITEM_UPDATED, ITEM_DELETED, LIFECYCLE_CHANGED,
+        @JsonEnumDefaultValue UNKNOWN
+    }
+
+    public static ItemEvent of(Type type, Long id, String itemNumber, String name,
+                               String description, String lifecycleState) {
+        return new ItemEvent(SCHEMA_VERSION, type, id, itemNumber, name, description, lifecycleState, Instant.now());
+    }
+}
@@ -0,0 +1,16 @@
+package com.plm.event;
+
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Kafka value serializer for plm.* events, configured through
+ * {@code spring.kafka.producer.value-serializer}. Consumers pick the target type from the
+ * listener method, so no type headers are written.
+ */
+public class SmileEventSerializer extends JsonSerializer<Object> {
+
+    public SmileEventSerializer() {
+        super(EventCodec.smile());
+        setAddTypeInfo(false);
+    }
+}
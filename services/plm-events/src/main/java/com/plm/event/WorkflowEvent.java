@@ -0,0 +1,29 @@
+package com.plm.event;
+
+import com.fasterxml.jackson.annotation.JsonEnumDefaultValue;
+
+import java.time.Instant;
+
+/**
+ * plm.workflow-events payload, keyed by revision id. Versioned like {@link ItemEvent}:
+ * unknown fields are ignored, unknown types read as {@link Type#UNKNOWN}, and version 0
+ * denotes the untyped events written before the version field existed.
+ */
+public record WorkflowEvent(int schemaVersion,
+                            Type type,
+                            Long revisionId,
+                            Long itemId,
+                            String reason,
+                            Instant timestamp) {
+
+    public static final int SCHEMA_VERSION = 1;
+
+    public enum Type {
+        REVISION_RELEASED, REVISION_REJECTED,
+        @JsonEnumDefaultValue UNKNOWN
+    }
+
+    public static WorkflowEvent of(Type type, Long revisionId, Long itemId, String reason) {
+        return new WorkflowEvent(SCHEMA_VERSION, type, revisionId, itemId, reason, Instant.now());
+    }
+}
@@ -0,0 +1,63 @@
+package com.plm.event;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EventMessageConverterTest {
+
+    private final EventMessageConverter converter = new EventMessageConverter();
+    private final SmileEventSerializer serializer = new SmileEventSerializer();
+
+    @Test
+    void smileEvent_roundTripsIntoListenerType() {
+        ItemEvent sent = ItemEvent.of(ItemEvent.Type.LIFECYCLE_CHANGED, 42L, "P-042", "Bracket", null, "RELEASED");
+        byte[] bytes = serializer.serialize("plm.item-events", sent);
+
+        assertThat(EventCodec.isSmile(bytes)).isTrue();
+        assertThat(convert(bytes, ItemEvent.class)).isEqualTo(sent);
+        assertThat(((JsonNode) convert(bytes, null)).path("itemNumber").asText()).isEqualTo("P-042");
+    }
+
+    @Test
+    void legacyJsonMap_isReadAsVersionZero() {
+        byte[] legacy = """
+                {"type":"ITEM_UPDATED","id":"7","itemNumber":"P-007","name":"Shaft",
+                 "description":"","lifecycleState":"DRAFT","timestamp":"2024-05-01T10:00:00Z"}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        ItemEvent event = (ItemEvent) convert(legacy, ItemEvent.class);
+
+        assertThat(event.schemaVersion()).isZero();
+        assertThat(event.type()).isEqualTo(ItemEvent.Type.ITEM_UPDATED);
+        assertThat(event.id()).isEqualTo(7L);
+    }
+
+    @Test
+    void unknownTypeAndFields_fromNewerProducer_areTolerated() {
+        byte[] newer = """
+                {"schemaVersion":2,"type":"ITEM_ARCHIVED","id":9,"archivedBy":"alice"}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        assertThat(((ItemEvent) convert(newer, ItemEvent.class)).type()).isEqualTo(ItemEvent.Type.UNKNOWN);
+    }
+
+    @Test
+    void records_useListenerParameterType() {
+        byte[] bytes = serializer.serialize("plm.bom-events", new BomChangeMessage(1L, 2L));
+
+        assertThat(convert(bytes, BomChangeMessage.class)).isEqualTo(new BomChangeMessage(1L, 2L));
+    }
+
+    record BomChangeMessage(Long parentRevisionId, Long childRevisionId) {}
+
+    private Object convert(byte[] value, Class<?> type) {
+        byte[] raw = new ByteArrayDeserializer().deserialize("t", value);
+        return converter.toMessage(new ConsumerRecord<>("t", 0, 0L, "k", raw), null, null, type).getPayload();
+    }
+}
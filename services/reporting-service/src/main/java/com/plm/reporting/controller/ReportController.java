@@ -6,6 +6,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Map;
 
@@ -24,18 +25,18 @@ public class ReportController {
 
     /** GET /api/reports/items/export?format=csv */
     @GetMapping("/items/export")
-    public ResponseEntity<byte[]> exportItems(@RequestParam(defaultValue = "csv") String format) {
-        byte[] data = reportService.exportItemsAsCsv();
+    public ResponseEntity<StreamingResponseBody> exportItems(@RequestParam(defaultValue = "csv") String format) {
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=items.csv")
                 .contentType(MediaType.parseMediaType("text/csv"))
-                .body(data);
+                .body(reportService::writeItemsCsv);
     }
 
-    /** GET /api/reports/bom/{revisionId}/export — Excel BOM export */
+    /** GET /api/reports/bom/{revisionId}/export?summarized=true — Excel BOM export */
     @GetMapping("/bom/{revisionId}/export")
-    public ResponseEntity<byte[]> exportBom(@PathVariable Long revisionId) throws Exception {
-        byte[] data = reportService.exportBomAsExcel(revisionId);
+    public ResponseEntity<byte[]> exportBom(@PathVariable Long revisionId,
+                                            @RequestParam(defaultValue = "false") boolean summarized) throws Exception {
+        byte[] data = reportService.exportBomAsExcel(revisionId, summarized);
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION,
                         "attachment; filename=bom-rev-" + revisionId + ".xlsx")
@@ -1,23 +1,31 @@
 package com.plm.reporting.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
-import java.io.ByteArrayOutputStream;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ReportService {
 
+    private static final int ITEM_PAGE_SIZE = 500;
+
     private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
 
     @Value("${plm.core.url:http://plm-core-service:8080}")
     private String plmCoreUrl;
@@ -28,19 +36,11 @@ public class ReportService {
 
         // Items by lifecycle state
         try {
-            JsonNode items = restTemplate.getForObject(plmCoreUrl + "/api/items", JsonNode.class);
-            JsonNode list = items != null && items.has("content") ? items.get("content") : items;
             Map<String, Long> byState = new LinkedHashMap<>();
             byState.put("DRAFT", 0L); byState.put("IN_REVIEW", 0L);
             byState.put("RELEASED", 0L); byState.put("OBSOLETE", 0L);
-            long total = 0;
-            if (list != null && list.isArray()) {
-                for (JsonNode item : list) {
-                    String state = item.path("lifecycleState").asText("DRAFT");
-                    byState.merge(state, 1L, Long::sum);
-                    total++;
-                }
-            }
+            forEachItem(item -> byState.merge(item.path("lifecycleState").asText("DRAFT"), 1L, Long::sum));
+            long total = byState.values().stream().mapToLong(Long::longValue).sum();
             summary.put("totalItems", total);
             summary.put("itemsByState", byState);
         } catch (Exception e) {
@@ -73,10 +73,14 @@ public class ReportService {
         return summary;
     }
 
-    /** Exports BOM for a revision as Excel (.xlsx) bytes */
-    public byte[] exportBomAsExcel(Long revisionId) throws Exception {
+    /**
+     * Exports the multi-level BOM for a revision as Excel (.xlsx) bytes; with
+     * {@code summarized} a second sheet lists total quantities per leaf part.
+     */
+    public byte[] exportBomAsExcel(Long revisionId, boolean summarized) throws Exception {
+        // Single call: plm-core explodes the whole structure server-side
         JsonNode bom = restTemplate.getForObject(
-                plmCoreUrl + "/api/revisions/" + revisionId + "/bom/children", JsonNode.class);
+                plmCoreUrl + "/api/revisions/" + revisionId + "/bom/tree", JsonNode.class);
 
         try (Workbook wb = new XSSFWorkbook()) {
             Sheet sheet = wb.createSheet("BOM");
@@ -88,56 +92,103 @@ public class ReportService {
             headerStyle.setFont(font);
 
             Row header = sheet.createRow(0);
-            String[] cols = {"#", "Item Number", "Name", "Revision", "Quantity", "Lifecycle State"};
+            String[] cols = {"#", "Level", "Item Number", "Name", "Revision", "Quantity", "Extended Quantity"};
             for (int i = 0; i < cols.length; i++) {
                 Cell cell = header.createCell(i);
                 cell.setCellValue(cols[i]);
                 cell.setCellStyle(headerStyle);
             }
 
-            // Rows
+            // Rows, indented by level
             int rowIdx = 1;
             if (bom != null && bom.isArray()) {
-                for (JsonNode entry : bom) {
-                    JsonNode child = entry.path("childRevision");
+                for (JsonNode node : bom) {
+                    int level = node.path("level").asInt(1);
                     Row row = sheet.createRow(rowIdx++);
                     row.createCell(0).setCellValue(rowIdx - 1);
-                    row.createCell(1).setCellValue(child.path("itemNumber").asText());
-                    row.createCell(2).setCellValue(child.path("name").asText());
-                    row.createCell(3).setCellValue(child.path("revisionCode").asText());
-                    row.createCell(4).setCellValue(entry.path("quantity").asDouble(1));
-                    row.createCell(5).setCellValue(child.path("lifecycleState").asText());
+                    row.createCell(1).setCellValue(level);
+                    row.createCell(2).setCellValue("  ".repeat(level - 1) + node.path("childItemNumber").asText());
+                    row.createCell(3).setCellValue(node.path("childItemName").asText());
+                    row.createCell(4).setCellValue(node.path("childRevisionCode").asText());
+                    row.createCell(5).setCellValue(node.path("quantity").asDouble(1));
+                    row.createCell(6).setCellValue(node.path("extendedQuantity").asDouble(1));
                 }
             }
 
             for (int i = 0; i < cols.length; i++) sheet.autoSizeColumn(i);
 
+            if (summarized) {
+                // Quantities are rolled up by plm-core in exact decimal arithmetic
+                JsonNode summary = restTemplate.getForObject(
+                        plmCoreUrl + "/api/revisions/" + revisionId + "/bom/summary", JsonNode.class);
+                Sheet sumSheet = wb.createSheet("Summarized");
+                String[] sumCols = {"Item Number", "Name", "Revision", "Total Quantity"};
+                Row sumHeader = sumSheet.createRow(0);
+                for (int i = 0; i < sumCols.length; i++) {
+                    Cell cell = sumHeader.createCell(i);
+                    cell.setCellValue(sumCols[i]);
+                    cell.setCellStyle(headerStyle);
+                }
+                int sumIdx = 1;
+                if (summary != null && summary.isArray()) {
+                    for (JsonNode line : summary) {
+                        Row row = sumSheet.createRow(sumIdx++);
+                        row.createCell(0).setCellValue(line.path("childItemNumber").asText());
+                        row.createCell(1).setCellValue(line.path("childItemName").asText());
+                        row.createCell(2).setCellValue(line.path("childRevisionCode").asText());
+                        row.createCell(3).setCellValue(line.path("totalQuantity").asDouble());
+                    }
+                }
+                for (int i = 0; i < sumCols.length; i++) sumSheet.autoSizeColumn(i);
+            }
+
             ByteArrayOutputStream out = new ByteArrayOutputStream();
             wb.write(out);
             return out.toByteArray();
         }
     }
 
-    /** Exports all items as CSV bytes */
-    public byte[] exportItemsAsCsv() {
-        StringBuilder sb = new StringBuilder("ID,Item Number,Name,Lifecycle State,Description,Created At\n");
-        try {
-            JsonNode items = restTemplate.getForObject(plmCoreUrl + "/api/items", JsonNode.class);
-            JsonNode list = items != null && items.has("content") ? items.get("content") : items;
-            if (list != null && list.isArray()) {
-                for (JsonNode item : list) {
-                    sb.append(csv(item.path("id").asText())).append(",")
-                      .append(csv(item.path("itemNumber").asText())).append(",")
-                      .append(csv(item.path("name").asText())).append(",")
-                      .append(csv(item.path("lifecycleState").asText())).append(",")
-                      .append(csv(item.path("description").asText(""))).append(",")
-                      .append(csv(item.path("createdAt").asText())).append("\n");
-                }
-            }
-        } catch (Exception e) {
-            log.warn("Failed to fetch items for CSV: {}", e.getMessage());
-        }
-        return sb.toString().getBytes();
+    /**
+     * Streams all items as CSV straight from plm-core's NDJSON export, one row per
+     * line, so neither service buffers the whole catalog. Nothing is written until
+     * plm-core has answered successfully, and a failure part-way propagates so the
+     * response is aborted instead of ending like a complete file.
+     */
+    public void writeItemsCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        restTemplate.execute(plmCoreUrl + "/api/items/export", HttpMethod.GET,
+                req -> req.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON)),
+                response -> {
+                    writer.write("ID,Item Number,Name,Lifecycle State,Description,Created At\n");
+                    try (BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            if (line.isBlank()) continue;
+                            JsonNode item = objectMapper.readTree(line);
+                            writer.write(csv(item.path("id").asText()) + ","
+                                    + csv(item.path("itemNumber").asText()) + ","
+                                    + csv(item.path("name").asText()) + ","
+                                    + csv(item.path("lifecycleState").asText()) + ","
+                                    + csv(item.path("description").asText("")) + ","
+                                    + csv(item.path("createdAt").asText()) + "\n");
+                        }
+                    }
+                    return null;
+                });
+        writer.flush();
+    }
+
+    /** Walks plm-core's keyset-paginated item listing one page at a time. */
+    private void forEachItem(Consumer<JsonNode> action) {
+        String cursor = null;
+        do {
+            String url = plmCoreUrl + "/api/items/page?size=" + ITEM_PAGE_SIZE + (cursor != null ? "&cursor=" + cursor : "");
+            JsonNode page = restTemplate.getForObject(url, JsonNode.class);
+            if (page == null) return;
+            page.path("items").forEach(action);
+            cursor = page.path("nextCursor").isTextual() ? page.path("nextCursor").asText() : null;
+        } while (cursor != null);
     }
 
     private String csv(String value) {
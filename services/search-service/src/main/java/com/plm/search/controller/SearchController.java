@@ -4,9 +4,11 @@ import com.plm.search.document.ItemDocument;
 import com.plm.search.service.ReindexService;
 import com.plm.search.service.SearchService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -40,11 +42,13 @@ public class SearchController {
     /**
      * POST /api/search/reindex
      * Pulls all items from plm-core-service and re-indexes them into Elasticsearch.
-     * Call this once after initial data seeding.
+     * Call this once after initial data seeding. Pass {@code updatedSince} for an
+     * incremental catch-up of items changed since that watermark.
      */
     @PostMapping("/reindex")
-    public ResponseEntity<Map<String, Object>> reindex() {
-        int count = reindexService.reindexAll();
+    public ResponseEntity<Map<String, Object>> reindex(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince) {
+        int count = updatedSince != null ? reindexService.reindexSince(updatedSince) : reindexService.reindexAll();
         return ResponseEntity.ok(Map.of("indexed", count, "status", "ok"));
     }
 }
@@ -1,6 +1,7 @@
 package com.plm.search.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.plm.event.ItemEvent;
+import com.plm.event.WorkflowEvent;
 import com.plm.search.document.ItemDocument;
 import com.plm.search.document.RevisionDocument;
 import lombok.RequiredArgsConstructor;
@@ -19,39 +20,37 @@ public class IndexingConsumer {
 
     private final ItemSearchRepository itemRepository;
 
-    @KafkaListener(topics = "plm.item-events", groupId = "search-service")
-    public void onItemEvent(JsonNode event) {
-        String type = event.path("type").asText();
-        log.info("Received item event: {}", type);
+    @KafkaListener(topics = "plm.item-events", groupId = "search-service",
+                   concurrency = "${plm.kafka.concurrency.item-indexing:3}")
+    public void onItemEvent(ItemEvent event) {
+        log.info("Received item event: {}", event.type());
 
-        switch (type) {
-            case "ITEM_CREATED", "ITEM_UPDATED" -> {
+        switch (event.type()) {
+            case ITEM_CREATED, ITEM_UPDATED -> {
                 ItemDocument doc = ItemDocument.builder()
-                        .id(event.path("id").asText())
-                        .itemNumber(event.path("itemNumber").asText())
-                        .name(event.path("name").asText())
-                        .description(event.path("description").asText())
-                        .lifecycleState(event.path("lifecycleState").asText())
-                        .createdAt(event.path("createdAt").asText())
+                        .id(String.valueOf(event.id()))
+                        .itemNumber(event.itemNumber())
+                        .name(event.name())
+                        .description(event.description())
+                        .lifecycleState(event.lifecycleState())
                         .build();
                 itemRepository.save(doc);
                 log.info("Indexed item {}", doc.getId());
             }
-            case "ITEM_DELETED" -> {
-                String id = event.path("id").asText();
-                itemRepository.deleteById(id);
-                log.info("Removed item {} from index", id);
+            case ITEM_DELETED -> {
+                itemRepository.deleteById(String.valueOf(event.id()));
+                log.info("Removed item {} from index", event.id());
             }
-            default -> log.debug("Unhandled item event type: {}", type);
+            default -> log.debug("Unhandled item event type: {}", event.type());
         }
     }
 
-    @KafkaListener(topics = "plm.workflow-events", groupId = "search-service")
-    public void onWorkflowEvent(JsonNode event) {
+    @KafkaListener(topics = "plm.workflow-events", groupId = "search-service",
+                   concurrency = "${plm.kafka.concurrency.workflow-indexing:1}")
+    public void onWorkflowEvent(WorkflowEvent event) {
         // When a revision is released via workflow, update lifecycle state in index
-        String type = event.path("type").asText();
-        if ("REVISION_RELEASED".equals(type)) {
-            String itemId = event.path("itemId").asText();
+        if (event.type() == WorkflowEvent.Type.REVISION_RELEASED) {
+            String itemId = String.valueOf(event.itemId());
             itemRepository.findById(itemId).ifPresent(doc -> {
                 doc.setLifecycleState("RELEASED");
                 itemRepository.save(doc);
@@ -1,13 +1,20 @@
 package com.plm.search.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.plm.search.document.ItemDocument;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -16,35 +23,66 @@ import java.util.List;
 @Slf4j
 public class ReindexService {
 
+    private static final int BATCH_SIZE = 500;
+
     private final ItemSearchRepository itemRepository;
+    private final ObjectMapper objectMapper;
 
     @Value("${plm.core.url:http://plm-core-service:8080}")
     private String plmCoreUrl;
 
     public int reindexAll() {
+        return reindexSince(null);
+    }
+
+    /**
+     * Streams plm-core's NDJSON item export line by line and indexes it in fixed-size
+     * batches, so memory use does not grow with the catalog. With {@code updatedSince}
+     * only items changed since that watermark are re-indexed.
+     */
+    public int reindexSince(LocalDateTime updatedSince) {
         RestTemplate rest = new RestTemplate();
-        log.info("Fetching all items from {}", plmCoreUrl);
-
-        JsonNode response = rest.getForObject(plmCoreUrl + "/api/items", JsonNode.class);
-
-        List<ItemDocument> docs = new ArrayList<>();
-        JsonNode items = response != null && response.has("content") ? response.get("content") : response;
-
-        if (items != null && items.isArray()) {
-            for (JsonNode item : items) {
-                docs.add(ItemDocument.builder()
-                        .id(item.path("id").asText())
-                        .itemNumber(item.path("itemNumber").asText())
-                        .name(item.path("name").asText())
-                        .description(item.path("description").asText())
-                        .lifecycleState(item.path("lifecycleState").asText())
-                        .createdAt(item.path("createdAt").asText())
-                        .build());
-            }
-        }
-
-        itemRepository.saveAll(docs);
-        log.info("Reindexed {} items into Elasticsearch", docs.size());
-        return docs.size();
+        String url = plmCoreUrl + "/api/items/export" + (updatedSince != null ? "?updatedSince=" + updatedSince : "");
+        log.info("Streaming items from {}", url);
+
+        Integer count = rest.execute(url, HttpMethod.GET,
+                req -> req.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON)),
+                response -> {
+                    int total = 0;
+                    List<ItemDocument> batch = new ArrayList<>(BATCH_SIZE);
+                    try (BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            if (line.isBlank()) continue;
+                            batch.add(toDocument(objectMapper.readTree(line)));
+                            if (batch.size() == BATCH_SIZE) {
+                                itemRepository.saveAll(batch);
+                                total += batch.size();
+                                batch.clear();
+                            }
+                        }
+                    }
+                    if (!batch.isEmpty()) {
+                        itemRepository.saveAll(batch);
+                        total += batch.size();
+                    }
+                    return total;
+                });
+
+        int total = count != null ? count : 0;
+        log.info("Reindexed {} items into Elasticsearch", total);
+        return total;
+    }
+
+    private ItemDocument toDocument(JsonNode item) {
+        return ItemDocument.builder()
+                .id(item.path("id").asText())
+                .itemNumber(item.path("itemNumber").asText())
+                .name(item.path("name").asText())
+                .description(item.path("description").asText())
+                .lifecycleState(item.path("lifecycleState").asText())
+                .createdAt(item.path("createdAt").asText())
+                .build();
     }
 }
@@ -2,22 +2,40 @@ package com.plm.search.service;
 
 import com.plm.search.document.ItemDocument;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.net.URI;
+import java.util.Arrays;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class SearchService {
 
+    private static final int FALLBACK_PAGE_SIZE = 100;
+
     private final ItemSearchRepository itemRepository;
 
+    @Value("${plm.core.url:http://plm-core-service:8080}")
+    private String plmCoreUrl;
+
     public List<ItemDocument> searchItems(String query) {
         if (query == null || query.isBlank()) {
             return (List<ItemDocument>) itemRepository.findAll();
         }
-        return itemRepository.findByNameContainingOrDescriptionContainingOrItemNumberContaining(
-                query, query, query);
+        try {
+            return itemRepository.findByNameContainingOrDescriptionContainingOrItemNumberContaining(
+                    query, query, query);
+        } catch (DataAccessException e) {
+            log.warn("Elasticsearch unavailable, falling back to plm-core search: {}", e.getMessage());
+            return searchPlmCore(query);
+        }
     }
 
     public List<ItemDocument> filterByState(String lifecycleState) {
@@ -27,4 +45,14 @@ public class SearchService {
     public void indexItem(ItemDocument doc) {
         itemRepository.save(doc);
     }
+
+    /** plm-core's ranked Postgres search; its item JSON maps onto ItemDocument field for field. */
+    private List<ItemDocument> searchPlmCore(String query) {
+        URI url = UriComponentsBuilder.fromHttpUrl(plmCoreUrl + "/api/items/search")
+                .queryParam("q", query)
+                .queryParam("size", FALLBACK_PAGE_SIZE)
+                .build().encode().toUri();
+        ItemDocument[] items = new RestTemplate().getForObject(url, ItemDocument[].class);
+        return items == null ? List.of() : Arrays.asList(items);
+    }
 }
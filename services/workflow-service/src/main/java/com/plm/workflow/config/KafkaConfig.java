@@ -1,6 +1,7 @@
 package com.plm.workflow.config;
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
@@ -10,8 +11,15 @@ public class KafkaConfig {
 
     public static final String WORKFLOW_EVENTS_TOPIC = "plm.workflow-events";
 
+    // Must match the partition count plm-core-service declares for the same topics
+    @Value("${plm.kafka.partitions:6}")
+    private int partitions;
+
+    @Value("${plm.kafka.replication-factor:1}")
+    private short replicationFactor;
+
     @Bean
     public NewTopic workflowEventsTopic() {
-        return TopicBuilder.name(WORKFLOW_EVENTS_TOPIC).partitions(1).replicas(1).build();
+        return TopicBuilder.name(WORKFLOW_EVENTS_TOPIC).partitions(partitions).replicas(replicationFactor).build();
     }
 }
@@ -1,13 +1,12 @@
 package com.plm.workflow.service;
 
+import com.plm.event.WorkflowEvent;
 import com.plm.workflow.config.KafkaConfig;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
-
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -16,23 +15,15 @@ public class WorkflowEventPublisher {
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
     public void publishRevisionReleased(Long revisionId, Long itemId) {
-        var event = Map.of(
-                "type", "REVISION_RELEASED",
-                "revisionId", revisionId,
-                "itemId", itemId
-        );
-        kafkaTemplate.send(KafkaConfig.WORKFLOW_EVENTS_TOPIC, String.valueOf(revisionId), event);
-        log.info("Published REVISION_RELEASED event for revision {}", revisionId);
+        send(WorkflowEvent.of(WorkflowEvent.Type.REVISION_RELEASED, revisionId, itemId, null));
     }
 
     public void publishRevisionRejected(Long revisionId, Long itemId, String reason) {
-        var event = Map.of(
-                "type", "REVISION_REJECTED",
-                "revisionId", revisionId,
-                "itemId", itemId,
-                "reason", reason != null ? reason : ""
-        );
-        kafkaTemplate.send(KafkaConfig.WORKFLOW_EVENTS_TOPIC, String.valueOf(revisionId), event);
-        log.info("Published REVISION_REJECTED event for revision {}", revisionId);
+        send(WorkflowEvent.of(WorkflowEvent.Type.REVISION_REJECTED, revisionId, itemId, reason));
+    }
+
+    private void send(WorkflowEvent event) {
+        kafkaTemplate.send(KafkaConfig.WORKFLOW_EVENTS_TOPIC, String.valueOf(event.revisionId()), event);
+        log.info("Published {} event for revision {}", event.type(), event.revisionId());
     }
 }